@@ -0,0 +1,299 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process cache with W-TinyLFU eviction and a time to live.
+ *
+ * New entries go into a small LRU window. Entries leaving the window only
+ * make it into the main space if the {@link FrequencySketch} has seen them
+ * more often than the entry they would push out, so a burst of one-off keys
+ * cannot flush the hot ones. The main space is a segmented LRU: an entry
+ * read again moves from probation to the protected segment.
+ *
+ * Reads are a map lookup. The bookkeeping of a read is skipped rather than
+ * waited for when another thread holds the lock, so reads never block.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:12:46
+ */
+@SuppressWarnings("all")
+public class NearCache<K, V> {
+    private static final int WINDOW = 1;
+    private static final int PROBATION = 2;
+    private static final int PROTECTED = 3;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final long ttlNanos;
+
+    private final int windowMax;
+    private final int mainMax;
+    private final int protectedMax;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+    private int windowSize;
+    private int mainSize;
+    private int protectedSize;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    public NearCache(int maxEntries, long ttlMillis) {
+        this.sketch = new FrequencySketch(maxEntries);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.windowMax = Math.max(1, maxEntries / 100);
+        this.mainMax = Math.max(1, maxEntries - windowMax);
+        this.protectedMax = Math.max(1, mainMax * 8 / 10);
+    }
+
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+
+        if (System.nanoTime() - node.expiresAt > 0) {
+            if (lock.tryLock()) {
+                try {
+                    if (data.remove(key, node)) {
+                        unlink(node);
+                    }
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+            return null;
+        }
+
+        if (lock.tryLock()) {
+            try {
+                if (node.queue != 0) {
+                    onAccess(node);
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Marks the start of a load from a slower tier. Pass it to
+     * {@link #put(Object, Object, long)} so a value read before an
+     * invalidation is not cached after it.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(K key, V value, long stamp) {
+        lock.lock();
+        try {
+            if (invalidations.get() != stamp) {
+                return;
+            }
+            sketch.increment(key);
+
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.expiresAt = System.nanoTime() + ttlNanos;
+                return;
+            }
+
+            node = new Node<>(key, value, System.nanoTime() + ttlNanos);
+            data.put(key, node);
+            window.addLast(node, WINDOW);
+            windowSize++;
+            evict();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            for (Node<K, V> node : data.values()) {
+                node.queue = 0;
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            windowSize = 0;
+            mainSize = 0;
+            protectedSize = 0;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedSegment.addLast(node, PROTECTED);
+                protectedSize++;
+                while (protectedSize > protectedMax) {
+                    Node<K, V> demoted = protectedSegment.first();
+                    protectedSegment.remove(demoted);
+                    protectedSize--;
+                    probation.addLast(demoted, PROBATION);
+                }
+                break;
+            default:
+                protectedSegment.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        while (windowSize > windowMax) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            windowSize--;
+            probation.addLast(candidate, PROBATION);
+            mainSize++;
+
+            while (mainSize > mainMax) {
+                Node<K, V> victim = probation.first() != null ? probation.first() : protectedSegment.first();
+                // The window's candidate is admitted only if it is used more often than the victim.
+                if (victim != candidate && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)
+                        && System.nanoTime() - victim.expiresAt <= 0) {
+                    victim = candidate;
+                }
+                data.remove(victim.key, victim);
+                unlink(victim);
+                evictions.increment();
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowSize--;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                mainSize--;
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node);
+                protectedSize--;
+                mainSize--;
+                break;
+            default:
+        }
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long expiresAt;
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list, least recently used first.
+     */
+    private static class AccessOrder<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        Node<K, V> first() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node, int queue) {
+            node.queue = queue;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            }
+            else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            }
+            else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            }
+            else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = 0;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                int queue = node.queue;
+                remove(node);
+                addLast(node, queue);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+}
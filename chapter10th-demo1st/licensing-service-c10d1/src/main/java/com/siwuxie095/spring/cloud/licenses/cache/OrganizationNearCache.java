@@ -0,0 +1,25 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import com.siwuxie095.spring.cloud.licenses.model.Organization;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process L1 in front of the Redis organization cache. Entries live for
+ * organization.cache.l1.ttl milliseconds at most and are dropped as soon as
+ * an UPDATE or DELETE of the organization comes in over Kafka.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:13:09
+ */
+@SuppressWarnings("all")
+@Component
+public class OrganizationNearCache extends NearCache<String, Organization> {
+
+    @Autowired
+    public OrganizationNearCache(@Value("${organization.cache.l1.max-entries:1000}") int maxEntries,
+                                 @Value("${organization.cache.l1.ttl:30000}") long ttl) {
+        super(maxEntries, ttl);
+    }
+}
@@ -1,5 +1,7 @@
 package com.siwuxie095.spring.cloud.licenses.clients;
 
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationCacheMetrics;
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationNearCache;
 import com.siwuxie095.spring.cloud.licenses.model.Organization;
 import com.siwuxie095.spring.cloud.licenses.repository.OrganizationRedisRepository;
 import com.siwuxie095.spring.cloud.licenses.utils.UserContext;
@@ -24,6 +26,12 @@ public class OrganizationRestTemplateClient {
     @Autowired
     OrganizationRedisRepository orgRedisRepo;
 
+    @Autowired
+    OrganizationNearCache nearCache;
+
+    @Autowired
+    OrganizationCacheMetrics cacheMetrics;
+
     private static final Logger logger = LoggerFactory.getLogger(OrganizationRestTemplateClient.class);
 
     private Organization checkRedisCache(String organizationId) {
@@ -47,14 +55,25 @@ public class OrganizationRestTemplateClient {
     public Organization getOrganization(String organizationId){
         logger.debug("In Licensing Service.getOrganization: {}", UserContext.getCorrelationId());
 
-        Organization org = checkRedisCache(organizationId);
+        // Hot organizations are answered from memory, without a round trip to Redis.
+        Organization org = nearCache.get(organizationId);
+        if (org != null) {
+            cacheMetrics.recordL1Hit();
+            return org;
+        }
+
+        long stamp = nearCache.stamp();
+        org = checkRedisCache(organizationId);
 
         if (org!=null){
             logger.debug("I have successfully retrieved an organization {} from the redis cache: {}", organizationId, org);
+            cacheMetrics.recordL2Hit();
+            nearCache.put(organizationId, org, stamp);
             return org;
         }
 
         logger.debug("Unable to locate organization from the redis cache: {}.", organizationId);
+        cacheMetrics.recordMiss();
 
         ResponseEntity<Organization> restExchange =
                 restTemplate.exchange(
@@ -67,6 +86,7 @@ public class OrganizationRestTemplateClient {
 
         if (org!=null) {
             cacheOrganizationObject(org);
+            nearCache.put(organizationId, org, stamp);
         }
 
         return org;
@@ -13,4 +13,7 @@ public interface CustomChannels {
     @Input("inboundOrgChanges")
     SubscribableChannel orgs();
 
+    @Input("nearCacheOrgChanges")
+    SubscribableChannel nearCacheOrgs();
+
 }
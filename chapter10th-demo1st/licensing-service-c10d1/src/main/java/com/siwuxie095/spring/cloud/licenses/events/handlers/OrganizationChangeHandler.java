@@ -1,5 +1,6 @@
 package com.siwuxie095.spring.cloud.licenses.events.handlers;
 
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationNearCache;
 import com.siwuxie095.spring.cloud.licenses.events.CustomChannels;
 import com.siwuxie095.spring.cloud.licenses.events.models.OrganizationChangeModel;
 import com.siwuxie095.spring.cloud.licenses.repository.OrganizationRedisRepository;
@@ -20,6 +21,9 @@ public class OrganizationChangeHandler {
     @Autowired
     private OrganizationRedisRepository organizationRedisRepository;
 
+    @Autowired
+    private OrganizationNearCache nearCache;
+
     private static final Logger logger = LoggerFactory.getLogger(OrganizationChangeHandler.class);
 
     @StreamListener("inboundOrgChanges")
@@ -47,5 +51,27 @@ public class OrganizationChangeHandler {
         }
     }
 
-}
+    /**
+     * Every instance has its own L1, so this binding has no consumer group
+     * and each instance receives every change, unlike inboundOrgChanges.
+     *
+     * The Redis entry is dropped here as well, before L1: there is no
+     * ordering between the two bindings, and a miss right after the L1 drop
+     * would otherwise reload the old value from Redis. Dropping it is
+     * idempotent, so every instance may do it.
+     */
+    @StreamListener("nearCacheOrgChanges")
+    public void invalidateNearCache(OrganizationChangeModel orgChange) {
+        switch(orgChange.getAction()){
+            case "UPDATE":
+            case "DELETE":
+                logger.debug("Dropping organization {} from the near cache", orgChange.getOrganizationId());
+                organizationRedisRepository.deleteOrganization(orgChange.getOrganizationId());
+                nearCache.invalidate(orgChange.getOrganizationId());
+                break;
+            default:
+                break;
+        }
+    }
 
+}
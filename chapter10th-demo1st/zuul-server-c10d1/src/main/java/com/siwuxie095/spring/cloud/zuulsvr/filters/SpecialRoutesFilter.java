@@ -10,10 +10,10 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicHttpRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +54,9 @@ public class SpecialRoutesFilter extends ZuulFilter {
     @Autowired
     RestTemplate restTemplate;
 
+    @Autowired
+    CloseableHttpClient specialRoutesHttpClient;
+
     @Override
     public String filterType() {
         return FilterUtils.ROUTE_FILTER_TYPE;
@@ -243,24 +246,16 @@ public class SpecialRoutesFilter extends ZuulFilter {
         }
 
         this.helper.addIgnoredHeaders();
-        CloseableHttpClient httpClient = null;
         HttpResponse response = null;
 
         try {
-            httpClient  = HttpClients.createDefault();
-            response = forward(httpClient, verb, route, request, headers,
+            response = forward(specialRoutesHttpClient, verb, route, request, headers,
                     params, requestEntity);
             setResponse(response);
         }
         catch (Exception ex ) {
             ex.printStackTrace();
-
-        }
-        finally{
-            try {
-                httpClient.close();
-            }
-            catch(IOException ex){}
+            HttpClientUtils.closeQuietly(response);
         }
     }
 }
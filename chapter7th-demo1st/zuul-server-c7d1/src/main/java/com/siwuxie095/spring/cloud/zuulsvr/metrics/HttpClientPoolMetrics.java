@@ -0,0 +1,47 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publishes the special routes connection pool statistics on /metrics.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 09:14:05
+ */
+@SuppressWarnings("all")
+@Component
+public class HttpClientPoolMetrics implements PublicMetrics {
+    private static final String PREFIX = "specialroutes.httpclient.";
+
+    @Autowired
+    private PoolingHttpClientConnectionManager specialRoutesConnectionManager;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        addPoolStats(metrics, PREFIX + "total.", specialRoutesConnectionManager.getTotalStats());
+
+        for (HttpRoute route : specialRoutesConnectionManager.getRoutes()) {
+            addPoolStats(metrics, PREFIX + "route." + route.getTargetHost().toHostString() + ".",
+                    specialRoutesConnectionManager.getStats(route));
+        }
+        return metrics;
+    }
+
+    private void addPoolStats(List<Metric<?>> metrics, String prefix, PoolStats stats) {
+        metrics.add(new Metric<Integer>(prefix + "leased", stats.getLeased()));
+        metrics.add(new Metric<Integer>(prefix + "available", stats.getAvailable()));
+        metrics.add(new Metric<Integer>(prefix + "pending", stats.getPending()));
+        metrics.add(new Metric<Integer>(prefix + "max", stats.getMax()));
+    }
+}
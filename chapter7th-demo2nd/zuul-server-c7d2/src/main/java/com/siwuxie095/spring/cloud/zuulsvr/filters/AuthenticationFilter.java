@@ -3,6 +3,8 @@ package com.siwuxie095.spring.cloud.zuulsvr.filters;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 import com.siwuxie095.spring.cloud.zuulsvr.model.UserInfo;
+import com.siwuxie095.spring.cloud.zuulsvr.security.JwtTokenValidator;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,9 @@ public class AuthenticationFilter extends ZuulFilter {
     @Autowired
     RestTemplate restTemplate;
 
+    @Autowired
+    JwtTokenValidator jwtTokenValidator;
+
     @Override
     public String filterType() {
         return FilterUtils.PRE_FILTER_TYPE;
@@ -55,6 +60,18 @@ public class AuthenticationFilter extends ZuulFilter {
     }
 
     private UserInfo isAuthTokenValid(){
+        // Tokens signed with our key are checked locally, everything else goes to the authentication service.
+        try {
+            UserInfo userInfo = jwtTokenValidator.validate(filterUtils.getAuthToken());
+            if (userInfo != null) {
+                return userInfo;
+            }
+        }
+        catch (JwtException ex) {
+            logger.debug("Authentication token rejected locally: {}", ex.getMessage());
+            return null;
+        }
+
         ResponseEntity<UserInfo> restExchange = null;
         try {
             restExchange =
@@ -91,6 +108,7 @@ public class AuthenticationFilter extends ZuulFilter {
 
             ctx.setResponseStatusCode(HttpStatus.UNAUTHORIZED.value());
             ctx.setSendZuulResponse(false);
+            return null;
         }
 
         UserInfo userInfo = isAuthTokenValid();
@@ -2,9 +2,9 @@ package com.siwuxie095.spring.cloud.zuulsvr.filters;
 
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
-import com.siwuxie095.spring.cloud.zuulsvr.config.ServiceConfig;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import com.siwuxie095.spring.cloud.zuulsvr.model.UserInfo;
+import com.siwuxie095.spring.cloud.zuulsvr.security.JwtTokenValidator;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +25,7 @@ public class TrackingFilter extends ZuulFilter {
     private FilterUtils filterUtils;
 
     @Autowired
-    private ServiceConfig serviceConfig;
+    private JwtTokenValidator jwtTokenValidator;
 
     @Override
     public String filterType() {
@@ -57,14 +57,13 @@ public class TrackingFilter extends ZuulFilter {
 
         String result = "";
         if (filterUtils.getAuthToken() != null) {
-            String authToken = filterUtils.getAuthToken().replace("Bearer ", "");
             try {
-                Claims claims = Jwts.parser()
-                        .setSigningKey(serviceConfig.getJwtSigningKey().getBytes("UTF-8"))
-                        .parseClaimsJws(authToken).getBody();
-                result = (String) claims.get("organizationId");
-            } catch (Exception e) {
-                e.printStackTrace();
+                UserInfo userInfo = jwtTokenValidator.validate(filterUtils.getAuthToken());
+                if (userInfo != null && userInfo.getOrganizationId() != null) {
+                    result = userInfo.getOrganizationId();
+                }
+            } catch (JwtException e) {
+                logger.debug("Unable to read the organization id from the token: {}", e.getMessage());
             }
         }
         return result;
@@ -82,8 +81,9 @@ public class TrackingFilter extends ZuulFilter {
             logger.debug("tmx-correlation-id generated in tracking filter: {}.", filterUtils.getCorrelationId());
         }
 
-        System.out.println("The organization id from the token is : " + getOrganizationId());
-        filterUtils.setOrgId(getOrganizationId());
+        String organizationId = getOrganizationId();
+        logger.debug("The organization id from the token is : {}", organizationId);
+        filterUtils.setOrgId(organizationId);
         logger.debug("Processing incoming request for {}.",  ctx.getRequest().getRequestURI());
         return null;
     }
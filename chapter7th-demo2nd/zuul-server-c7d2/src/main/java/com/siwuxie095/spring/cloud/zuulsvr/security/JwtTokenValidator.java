@@ -0,0 +1,165 @@
+package com.siwuxie095.spring.cloud.zuulsvr.security;
+
+import com.siwuxie095.spring.cloud.zuulsvr.config.ServiceConfig;
+import com.siwuxie095.spring.cloud.zuulsvr.model.UserInfo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Verifies the JWTs issued by the authentication service in the gateway,
+ * using the shared signing.key, instead of calling the validate endpoint
+ * of the authentication service for every request.
+ *
+ * Verified tokens are cached by their SHA-256 hash until they expire, so a
+ * token is parsed and its signature checked only once.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:44:20
+ */
+@SuppressWarnings("all")
+@Component
+public class JwtTokenValidator {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenValidator.class);
+    private static final String BEARER = "Bearer ";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    });
+
+    @Autowired
+    ServiceConfig serviceConfig;
+
+    @Autowired
+    CounterService counterService;
+
+    @Value("${security.jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private byte[] signingKey;
+
+    private final ConcurrentMap<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        String key = serviceConfig.getJwtSigningKey();
+        signingKey = key == null || key.isEmpty() ? null : key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the user of a valid token, or null when the token cannot be
+     * checked locally and has to go to the authentication service.
+     *
+     * @throws JwtException when the token is expired or its signature is wrong
+     */
+    public UserInfo validate(String authHeader) {
+        if (signingKey == null || authHeader == null) {
+            return null;
+        }
+
+        String token = authHeader.startsWith(BEARER) ? authHeader.substring(BEARER.length()) : authHeader;
+        String hash = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedToken cached = tokens.get(hash);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                counterService.increment("gateway.jwt.cache.hit");
+                return cached.userInfo;
+            }
+            tokens.remove(hash, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .setSigningKey(signingKey)
+                    .parseClaimsJws(token).getBody();
+        }
+        catch (MalformedJwtException | UnsupportedJwtException ex) {
+            // Not a signed JWT, for example an opaque token, only the authentication service knows it.
+            counterService.increment("gateway.jwt.fallback");
+            return null;
+        }
+        catch (ExpiredJwtException ex) {
+            counterService.increment("gateway.jwt.expired");
+            throw ex;
+        }
+        catch (JwtException ex) {
+            counterService.increment("gateway.jwt.invalid");
+            throw ex;
+        }
+
+        UserInfo userInfo = new UserInfo();
+        userInfo.setUserId((String) claims.get("user_name"));
+        userInfo.setOrganizationId((String) claims.get("organizationId"));
+        counterService.increment("gateway.jwt.verified");
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            if (tokens.size() >= maxEntries) {
+                purge(now);
+            }
+            tokens.put(hash, new CachedToken(userInfo, expiration.getTime()));
+        }
+        return userInfo;
+    }
+
+    private void purge(long now) {
+        Iterator<CachedToken> it = tokens.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+            }
+        }
+        // Still full of live tokens, start over rather than grow without bound.
+        if (tokens.size() >= maxEntries) {
+            logger.debug("JWT cache is full with {} live tokens, clearing it.", tokens.size());
+            tokens.clear();
+        }
+    }
+
+    private String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[digest[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    private static class CachedToken {
+        private final UserInfo userInfo;
+        private final long expiresAt;
+
+        CachedToken(UserInfo userInfo, long expiresAt) {
+            this.userInfo = userInfo;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
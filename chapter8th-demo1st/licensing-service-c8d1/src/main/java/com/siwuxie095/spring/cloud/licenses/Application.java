@@ -1,20 +1,31 @@
 package com.siwuxie095.spring.cloud.licenses;
 
+import com.siwuxie095.spring.cloud.licenses.cache.VersionedRedisSerializer;
 import com.siwuxie095.spring.cloud.licenses.config.ServiceConfig;
+import com.siwuxie095.spring.cloud.licenses.loadbalancer.InstanceLoadStats;
+import com.siwuxie095.spring.cloud.licenses.loadbalancer.LatencyAwareRibbonConfiguration;
+import com.siwuxie095.spring.cloud.licenses.loadbalancer.StatsRecordingLoadBalancerClient;
 import com.siwuxie095.spring.cloud.licenses.utils.UserContextInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.circuitbreaker.EnableCircuitBreaker;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.cloud.netflix.ribbon.RibbonClients;
+import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancerClient;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.cloud.stream.messaging.Sink;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
@@ -29,17 +40,25 @@ import java.util.List;
 @EnableEurekaClient
 @EnableCircuitBreaker
 @EnableBinding(Sink.class)
+@RibbonClients(defaultConfiguration = LatencyAwareRibbonConfiguration.class)
 public class Application {
 
     @Autowired
     private ServiceConfig serviceConfig;
 
+    @Autowired(required = false)
+    private ClientHttpRequestFactory upstreamRequestFactory;
+
+    @Value("${organization.cache.codec:migrate}")
+    private String cacheCodec;
+
     private static final Logger logger = LoggerFactory.getLogger(Application.class);
 
     @LoadBalanced
     @Bean
     public RestTemplate getRestTemplate() {
-        RestTemplate template = new RestTemplate();
+        RestTemplate template = upstreamRequestFactory != null
+                ? new RestTemplate(upstreamRequestFactory) : new RestTemplate();
         List interceptors = template.getInterceptors();
         if (interceptors == null) {
             template.setInterceptors(Collections.singletonList(new UserContextInterceptor()));
@@ -51,6 +70,11 @@ public class Application {
         return template;
     }
 
+    @Bean
+    public LoadBalancerClient loadBalancerClient(SpringClientFactory springClientFactory, InstanceLoadStats instanceLoadStats) {
+        return new StatsRecordingLoadBalancerClient(new RibbonLoadBalancerClient(springClientFactory), instanceLoadStats);
+    }
+
     @Bean
     public JedisConnectionFactory jedisConnectionFactory() {
         JedisConnectionFactory jedisConnFactory = new JedisConnectionFactory();
@@ -63,6 +87,10 @@ public class Application {
     public RedisTemplate<String, Object> redisTemplate() {
         RedisTemplate<String, Object> template = new RedisTemplate<String, Object>();
         template.setConnectionFactory(jedisConnectionFactory());
+        template.setKeySerializer(new StringRedisSerializer());
+        VersionedRedisSerializer valueSerializer = VersionedRedisSerializer.forMode(cacheCodec);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
         return template;
     }
 
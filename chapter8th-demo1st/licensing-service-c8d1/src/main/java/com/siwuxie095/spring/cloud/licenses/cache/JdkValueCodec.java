@@ -0,0 +1,31 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+/**
+ * Plain Java serialization, the format RedisTemplate used before the
+ * binary codec. Kept to read entries written in that format.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:23:02
+ */
+@SuppressWarnings("all")
+public class JdkValueCodec implements ValueCodec {
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        // Every Java serialization stream starts with STREAM_MAGIC 0xACED.
+        return bytes.length >= 2 && bytes[0] == (byte) 0xac && bytes[1] == (byte) 0xed;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return serializer.deserialize(bytes);
+    }
+}
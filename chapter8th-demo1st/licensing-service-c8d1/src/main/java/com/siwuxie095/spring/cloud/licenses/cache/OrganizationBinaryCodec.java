@@ -0,0 +1,139 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import com.siwuxie095.spring.cloud.licenses.model.Organization;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of a cached {@link Organization}:
+ *
+ * <pre>
+ * magic 0xB7 | version | id | name | contactName | contactEmail | contactPhone
+ * </pre>
+ *
+ * Every field is a varint of its UTF-8 length plus one (0 for null)
+ * followed by the bytes. A newer version only appends fields, so a reader
+ * ignores fields it does not know, and fields missing from an older entry
+ * read as null.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:26:15
+ */
+@SuppressWarnings("all")
+public class OrganizationBinaryCodec implements ValueCodec {
+    private static final byte MAGIC = (byte) 0xb7;
+    private static final byte VERSION = 1;
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        Organization org = (Organization) value;
+        byte[][] fields = {
+                utf8(org.getId()), utf8(org.getName()), utf8(org.getContactName()),
+                utf8(org.getContactEmail()), utf8(org.getContactPhone())};
+
+        int size = 2;
+        for (byte[] field : fields) {
+            size += field == null ? 1 : varintSize(field.length + 1) + field.length;
+        }
+
+        byte[] bytes = new byte[size];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        int position = 2;
+        for (byte[] field : fields) {
+            if (field == null) {
+                bytes[position++] = 0;
+                continue;
+            }
+            position = writeVarint(bytes, position, field.length + 1);
+            System.arraycopy(field, 0, bytes, position, field.length);
+            position += field.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes[1] < 1) {
+            throw new SerializationException("Unknown organization codec version " + bytes[1]);
+        }
+
+        Reader reader = new Reader(bytes);
+        Organization org = new Organization();
+        org.setId(reader.readString());
+        org.setName(reader.readString());
+        org.setContactName(reader.readString());
+        org.setContactEmail(reader.readString());
+        org.setContactPhone(reader.readString());
+        return org;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7f) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    private static class Reader {
+        private final byte[] bytes;
+        private int position = 2;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        String readString() {
+            if (position >= bytes.length) {
+                // Written by an older version that did not have this field yet.
+                return null;
+            }
+            int length = readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (position + length > bytes.length) {
+                throw new SerializationException("Truncated organization entry");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new SerializationException("Truncated organization entry");
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed organization entry");
+        }
+    }
+}
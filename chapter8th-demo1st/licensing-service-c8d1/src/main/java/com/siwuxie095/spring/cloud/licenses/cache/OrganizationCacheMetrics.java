@@ -0,0 +1,84 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where organization lookups were answered: the in-process L1, Redis (L2)
+ * or the organization service. Published on /metrics with the hit ratio of
+ * each tier, L2's counted over the lookups that missed L1. Also counts the
+ * lookups the stampede protection kept away from the organization service.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:05:49
+ */
+@SuppressWarnings("all")
+@Component
+public class OrganizationCacheMetrics implements PublicMetrics {
+    private static final String PREFIX = "organization.cache.";
+
+    @Autowired
+    OrganizationNearCache nearCache;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder leaseWaits = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    public void recordL1Hit() {
+        l1Hits.increment();
+    }
+
+    public void recordL2Hit() {
+        l2Hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordSharedLoad() {
+        sharedLoads.increment();
+    }
+
+    public void recordLeaseWait() {
+        leaseWaits.increment();
+    }
+
+    public void recordEarlyRefresh() {
+        earlyRefreshes.increment();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        long l1 = l1Hits.sum();
+        long l2 = l2Hits.sum();
+        long miss = misses.sum();
+
+        metrics.add(new Metric<Long>(PREFIX + "l1.hits", l1));
+        metrics.add(new Metric<Double>(PREFIX + "l1.hit-ratio", ratio(l1, l1 + l2 + miss)));
+        metrics.add(new Metric<Integer>(PREFIX + "l1.size", nearCache.size()));
+        metrics.add(new Metric<Long>(PREFIX + "l1.evictions", nearCache.getEvictions()));
+        metrics.add(new Metric<Long>(PREFIX + "l2.hits", l2));
+        metrics.add(new Metric<Double>(PREFIX + "l2.hit-ratio", ratio(l2, l2 + miss)));
+        metrics.add(new Metric<Long>(PREFIX + "misses", miss));
+        metrics.add(new Metric<Long>(PREFIX + "loads.shared", sharedLoads.sum()));
+        metrics.add(new Metric<Long>(PREFIX + "lease.waits", leaseWaits.sum()));
+        metrics.add(new Metric<Long>(PREFIX + "early-refreshes", earlyRefreshes.sum()));
+        return metrics;
+    }
+
+    private double ratio(long hits, long total) {
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+}
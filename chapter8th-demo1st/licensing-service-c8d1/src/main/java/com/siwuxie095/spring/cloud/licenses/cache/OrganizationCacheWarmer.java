@@ -0,0 +1,66 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import com.siwuxie095.spring.cloud.licenses.clients.OrganizationRestTemplateClient;
+import com.siwuxie095.spring.cloud.licenses.repository.OrganizationRedisRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Preloads the most accessed organizations, by the counts Redis keeps, so
+ * a freshly started instance does not meet its first requests with an
+ * empty near cache. Runs at startup for organization.cache.warm-up.size
+ * organizations, and on demand through /v1/tools/cache/warm-up.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:57:30
+ */
+@SuppressWarnings("all")
+@Component
+public class OrganizationCacheWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationCacheWarmer.class);
+
+    @Autowired
+    OrganizationRedisRepository orgRedisRepo;
+
+    @Autowired
+    OrganizationRestTemplateClient organizationClient;
+
+    @Value("${organization.cache.warm-up.size:0}")
+    private int size;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (size > 0) {
+            warmUp(size);
+        }
+    }
+
+    /**
+     * Returns the number of organizations loaded.
+     */
+    public int warmUp(int count) {
+        List<String> ids;
+        try {
+            ids = orgRedisRepo.findMostAccessedIds(count);
+        } catch (Exception ex) {
+            logger.error("Unable to read the most accessed organizations from Redis. Exception {}", ex);
+            return 0;
+        }
+
+        int loaded = 0;
+        try {
+            loaded = organizationClient.getOrganizations(ids).size();
+        } catch (Exception ex) {
+            logger.error("Unable to warm up {} organizations. Exception {}", ids.size(), ex);
+        }
+        logger.debug("Warmed up {} of {} organizations", loaded, ids.size());
+        return loaded;
+    }
+}
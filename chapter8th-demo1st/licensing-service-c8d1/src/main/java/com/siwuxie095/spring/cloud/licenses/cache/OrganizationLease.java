@@ -0,0 +1,82 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Short lived lock in Redis that lets one licensing instance at a time
+ * reload an organization from the organization service. The others wait
+ * for the result to show up in Redis instead of calling out themselves.
+ *
+ * A lease expires on its own after organization.cache.lease.ttl
+ * milliseconds, so an instance dying mid-load only holds the others up
+ * that long. It is only released by the instance that took it.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:44:05
+ */
+@SuppressWarnings("all")
+@Component
+public class OrganizationLease {
+    private static final byte[] ACQUIRE = (
+            "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return 1 else return 0 end")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RELEASE = (
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    RedisTemplate redisTemplate;
+
+    @Value("${organization.cache.lease.enabled:false}")
+    private boolean enabled;
+
+    @Value("${organization.cache.lease.ttl:5000}")
+    private long ttl;
+
+    @Value("${organization.cache.lease.wait:2000}")
+    private long wait;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * How long an instance that did not get the lease polls Redis for the
+     * value before loading it itself.
+     */
+    public long getWait() {
+        return wait;
+    }
+
+    /**
+     * Returns the token to release the lease with, or null when another
+     * instance holds it.
+     */
+    public String tryAcquire(String organizationId) {
+        byte[] key = key(organizationId);
+        String token = UUID.randomUUID().toString();
+        byte[] ttlArg = String.valueOf(ttl).getBytes(StandardCharsets.UTF_8);
+        Long acquired = (Long) redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.eval(ACQUIRE, ReturnType.INTEGER, 1, key, token.getBytes(StandardCharsets.UTF_8), ttlArg));
+        return acquired != null && acquired == 1L ? token : null;
+    }
+
+    public void release(String organizationId, String token) {
+        byte[] key = key(organizationId);
+        redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.eval(RELEASE, ReturnType.INTEGER, 1, key, token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private byte[] key(String organizationId) {
+        // Hash tagged like the cached organization, so both live in the same cluster slot.
+        return ("organization:{" + organizationId + "}:lease").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs at most one load per key at a time. The first caller for a key does
+ * the load, callers arriving while it is in flight wait for its result
+ * instead of starting loads of their own.
+ *
+ * Nothing is kept once the load is done, caching the result is up to the
+ * caller.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:38:12
+ */
+@SuppressWarnings("all")
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V load(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            try {
+                return existing.get();
+            }
+            catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                throw cause instanceof Exception ? (Exception) cause : ex;
+            }
+        }
+
+        try {
+            V value = loader.call();
+            flight.complete(value);
+            return value;
+        }
+        catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public boolean isLoading(K key) {
+        return inFlight.containsKey(key);
+    }
+}
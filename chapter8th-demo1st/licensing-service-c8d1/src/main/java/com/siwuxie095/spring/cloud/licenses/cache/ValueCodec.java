@@ -0,0 +1,22 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+/**
+ * One storage format of cached values. {@link VersionedRedisSerializer}
+ * writes with one codec and reads with every codec that recognises the
+ * stored bytes, so the format can be switched without flushing Redis.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:21:40
+ */
+@SuppressWarnings("all")
+public interface ValueCodec {
+
+    /**
+     * Whether the bytes were written by this codec.
+     */
+    boolean canDecode(byte[] bytes);
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
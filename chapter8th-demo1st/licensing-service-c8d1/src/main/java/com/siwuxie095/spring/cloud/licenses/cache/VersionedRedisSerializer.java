@@ -0,0 +1,71 @@
+package com.siwuxie095.spring.cloud.licenses.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis value serializer that writes with one {@link ValueCodec} and reads
+ * with every codec that recognises the stored bytes. The mode is chosen with
+ * organization.cache.codec:
+ *
+ * <ul>
+ * <li>jdk: writes Java serialization, reads both formats, to roll back.</li>
+ * <li>migrate: writes the binary format, reads both formats, while entries
+ * written before the switch are still around.</li>
+ * <li>binary: writes and reads the binary format only, anything else reads
+ * as a cache miss.</li>
+ * </ul>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 22:31:48
+ */
+@SuppressWarnings("all")
+public class VersionedRedisSerializer implements RedisSerializer<Object> {
+    private final ValueCodec writer;
+    private final List<ValueCodec> readers;
+
+    public VersionedRedisSerializer(ValueCodec writer, List<ValueCodec> readers) {
+        this.writer = writer;
+        this.readers = readers;
+    }
+
+    public static VersionedRedisSerializer forMode(String mode) {
+        ValueCodec binary = new OrganizationBinaryCodec();
+        ValueCodec jdk = new JdkValueCodec();
+        switch (mode) {
+            case "jdk":
+                return new VersionedRedisSerializer(jdk, Arrays.asList(binary, jdk));
+            case "migrate":
+                return new VersionedRedisSerializer(binary, Arrays.asList(binary, jdk));
+            case "binary":
+                return new VersionedRedisSerializer(binary, Collections.singletonList(binary));
+            default:
+                throw new IllegalArgumentException("Unknown organization.cache.codec " + mode);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        return writer.encode(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        for (ValueCodec codec : readers) {
+            if (codec.canDecode(bytes)) {
+                return codec.decode(bytes);
+            }
+        }
+        return null;
+    }
+}
@@ -1,16 +1,35 @@
 package com.siwuxie095.spring.cloud.licenses.clients;
 
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationCacheMetrics;
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationLease;
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationNearCache;
+import com.siwuxie095.spring.cloud.licenses.cache.SingleFlight;
+import com.siwuxie095.spring.cloud.licenses.hystrix.DelegatingUserContextCallable;
 import com.siwuxie095.spring.cloud.licenses.model.Organization;
 import com.siwuxie095.spring.cloud.licenses.repository.OrganizationRedisRepository;
 import com.siwuxie095.spring.cloud.licenses.utils.UserContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Jiajing Li
  * @date 2021-06-21 08:13:11
@@ -25,8 +44,48 @@ public class OrganizationRestTemplateClient {
     @Autowired
     OrganizationRedisRepository orgRedisRepo;
 
+    @Autowired
+    OrganizationNearCache nearCache;
+
+    @Autowired
+    OrganizationCacheMetrics cacheMetrics;
+
+    @Autowired
+    OrganizationLease lease;
+
+    @Value("${organization.cache.early-refresh.enabled:false}")
+    private boolean earlyRefresh;
+
+    @Value("${organization.cache.early-refresh.beta:1.0}")
+    private double earlyRefreshBeta;
+
     private static final Logger logger = LoggerFactory.getLogger(OrganizationRestTemplateClient.class);
 
+    private static final long LEASE_POLL_MILLIS = 50;
+
+    /**
+     * Ids per batch call to the organization service, keeps the URL short.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    private final SingleFlight<String, Organization> loads = new SingleFlight<>();
+
+    /**
+     * Refreshes are best effort, the ones that do not fit in the queue are dropped.
+     */
+    private final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64), runnable -> {
+                Thread thread = new Thread(runnable, "organization-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Moving average of how long a load below L1 takes, the delta of the
+     * early refresh.
+     */
+    private volatile long loadNanos;
+
     private Organization checkRedisCache(String organizationId) {
         try {
             return orgRedisRepo.findOrganization(organizationId);
@@ -44,33 +103,217 @@ public class OrganizationRestTemplateClient {
         }
     }
 
+    private Organization fetchOrganization(String organizationId) {
+        ResponseEntity<Organization> restExchange =
+                restTemplate.exchange(
+                        "http://zuulservice/api/organization/v1/organizations/{organizationId}",
+                        HttpMethod.GET,
+                        null, Organization.class, organizationId);
+
+        /*Save the record from cache*/
+        Organization org = restExchange.getBody();
+
+        if (org != null) {
+            cacheOrganizationObject(org);
+        }
+        return org;
+    }
+
+    private List<Organization> fetchOrganizations(List<String> organizationIds) {
+        List<Organization> orgs = new ArrayList<>();
+        for (int from = 0; from < organizationIds.size(); from += BATCH_SIZE) {
+            List<String> batch = organizationIds.subList(from, Math.min(from + BATCH_SIZE, organizationIds.size()));
+            ResponseEntity<Organization[]> restExchange =
+                    restTemplate.exchange(
+                            "http://zuulservice/api/organization/v1/organizations?ids={organizationIds}",
+                            HttpMethod.GET,
+                            null, Organization[].class, String.join(",", batch));
+
+            if (restExchange.getBody() != null) {
+                for (Organization org : restExchange.getBody()) {
+                    cacheOrganizationObject(org);
+                    orgs.add(org);
+                }
+            }
+        }
+        return orgs;
+    }
+
     public Organization getOrganization(String organizationId){
         logger.debug("In Licensing Service.getOrganization: {}", UserContext.getCorrelationId());
 
-        Organization org = checkRedisCache(organizationId);
-
+        // Hot organizations are answered from memory, without a round trip to Redis.
+        Organization org = nearCache.get(organizationId);
         if (org != null) {
-            logger.debug("I have successfully retrieved an organization {} from the redis cache: {}", organizationId, org);
+            cacheMetrics.recordL1Hit();
+            if (earlyRefresh) {
+                refreshEarly(organizationId);
+            }
             return org;
         }
 
-        logger.debug("Unable to locate organization from the redis cache: {}.", organizationId);
+        // Concurrent misses on the same organization share one load.
+        boolean[] loaded = new boolean[1];
+        try {
+            org = loads.load(organizationId, () -> {
+                loaded[0] = true;
+                return loadOrganization(organizationId);
+            });
+        } catch (Exception ex) {
+            ReflectionUtils.rethrowRuntimeException(ex);
+        }
+        if (!loaded[0]) {
+            cacheMetrics.recordSharedLoad();
+        }
+        return org;
+    }
 
-        ResponseEntity<Organization> restExchange =
-                restTemplate.exchange(
-                        "http://zuulservice/api/organization/v1/organizations/{organizationId}",
-                        HttpMethod.GET,
-                        null, Organization.class, organizationId);
+    /**
+     * Looks up many organizations at once: the near cache first, then one
+     * pipelined Redis round trip for the rest, then one call to the
+     * organization service for what Redis did not have. Organizations that
+     * do not exist are left out of the result.
+     */
+    public Map<String, Organization> getOrganizations(Collection<String> organizationIds) {
+        logger.debug("In Licensing Service.getOrganizations: {}", UserContext.getCorrelationId());
 
-        /*Save the record from cache*/
-        org = restExchange.getBody();
+        Map<String, Organization> orgs = new HashMap<>();
+        List<String> remaining = new ArrayList<>();
+        for (String organizationId : new LinkedHashSet<>(organizationIds)) {
+            Organization org = nearCache.get(organizationId);
+            if (org != null) {
+                cacheMetrics.recordL1Hit();
+                orgs.put(organizationId, org);
+            } else {
+                remaining.add(organizationId);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return orgs;
+        }
+
+        long stamp = nearCache.stamp();
+        Map<String, Organization> cached;
+        try {
+            cached = orgRedisRepo.findOrganizations(remaining);
+        } catch (Exception ex) {
+            logger.error("Error encountered while trying to retrieve {} organizations check Redis Cache.  Exception {}", remaining.size(), ex);
+            cached = new HashMap<>();
+        }
+
+        List<String> misses = new ArrayList<>();
+        for (String organizationId : remaining) {
+            Organization org = cached.get(organizationId);
+            if (org != null) {
+                cacheMetrics.recordL2Hit();
+                orgs.put(organizationId, org);
+                nearCache.put(organizationId, org, stamp);
+            } else {
+                cacheMetrics.recordMiss();
+                misses.add(organizationId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Organization org : fetchOrganizations(misses)) {
+                orgs.put(org.getId(), org);
+                nearCache.put(org.getId(), org, stamp);
+            }
+        }
+        return orgs;
+    }
+
+    private Organization loadOrganization(String organizationId) {
+        long start = System.nanoTime();
+        long stamp = nearCache.stamp();
+        Organization org = checkRedisCache(organizationId);
 
         if (org != null) {
-            cacheOrganizationObject(org);
+            logger.debug("I have successfully retrieved an organization {} from the redis cache: {}", organizationId, org);
+            cacheMetrics.recordL2Hit();
+        } else {
+            logger.debug("Unable to locate organization from the redis cache: {}.", organizationId);
+            cacheMetrics.recordMiss();
+            org = lease.isEnabled() ? fetchUnderLease(organizationId) : fetchOrganization(organizationId);
         }
 
+        if (org != null) {
+            nearCache.put(organizationId, org, stamp);
+        }
+        long elapsed = System.nanoTime() - start;
+        loadNanos = loadNanos == 0 ? elapsed : loadNanos + (elapsed - loadNanos) / 8;
         return org;
     }
 
-}
+    /**
+     * Only the licensing instance holding the lease of the organization calls
+     * the organization service, the others wait for it to show up in Redis.
+     */
+    private Organization fetchUnderLease(String organizationId) {
+        String token;
+        try {
+            token = lease.tryAcquire(organizationId);
+        } catch (Exception ex) {
+            logger.error("Unable to take the lease of organization {} in Redis. Exception {}", organizationId, ex);
+            return fetchOrganization(organizationId);
+        }
+
+        if (token == null) {
+            cacheMetrics.recordLeaseWait();
+            Organization org = awaitRedisCache(organizationId);
+            // The holder is slow or gone, the lease will run out on its own.
+            return org != null ? org : fetchOrganization(organizationId);
+        }
+
+        try {
+            // Another instance may have finished its load between our miss and the lease.
+            Organization org = checkRedisCache(organizationId);
+            return org != null ? org : fetchOrganization(organizationId);
+        } finally {
+            try {
+                lease.release(organizationId, token);
+            } catch (Exception ex) {
+                logger.error("Unable to release the lease of organization {} in Redis. Exception {}", organizationId, ex);
+            }
+        }
+    }
+
+    private Organization awaitRedisCache(String organizationId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lease.getWait());
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Organization org = checkRedisCache(organizationId);
+            if (org != null) {
+                return org;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Probabilistic early expiration: the closer an L1 entry gets to its
+     * expiry, and the longer a load takes, the likelier a hit reloads it in
+     * the background, so hot organizations are rarely missed at all.
+     */
+    private void refreshEarly(String organizationId) {
+        long remaining = nearCache.expiresIn(organizationId);
+        if (remaining < 0 || loadNanos == 0 || loads.isLoading(organizationId)
+                || loadNanos * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble()) < remaining) {
+            return;
+        }
+        cacheMetrics.recordEarlyRefresh();
+        refreshExecutor.submit(new DelegatingUserContextCallable<>(
+                () -> loads.load(organizationId, () -> loadOrganization(organizationId))));
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.siwuxie095.spring.cloud.licenses.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleartext HTTP/2 transport for the load balanced RestTemplate. Calls to
+ * one instance share a single multiplexed connection instead of holding a
+ * connection each. The target services, and zuulservice when calls are
+ * routed through the gateway, must run with http2.h2c.enabled. Enabled
+ * with upstream.h2c.enabled.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:57:16
+ */
+@SuppressWarnings("all")
+@Configuration
+@ConditionalOnProperty(name = "upstream.h2c.enabled", havingValue = "true")
+public class Http2ClientConfig {
+
+    @Value("${upstream.h2c.connect-timeout:2000}")
+    private long connectTimeout;
+
+    @Value("${upstream.h2c.read-timeout:10000}")
+    private long readTimeout;
+
+    @Value("${upstream.h2c.idle-timeout:30000}")
+    private long idleTimeout;
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                // Prior knowledge, there is no TLS to negotiate h2 with ALPN in-cluster.
+                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+                .connectionPool(new ConnectionPool(5, idleTimeout, TimeUnit.MILLISECONDS))
+                .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .build();
+        return new OkHttp3ClientHttpRequestFactory(client);
+    }
+}
@@ -1,9 +1,11 @@
 package com.siwuxie095.spring.cloud.licenses.controllers;
 
+import com.siwuxie095.spring.cloud.licenses.cache.OrganizationCacheWarmer;
 import com.siwuxie095.spring.cloud.licenses.services.DiscoveryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -19,10 +21,19 @@ public class ToolsController {
     @Autowired
     private DiscoveryService discoveryService;
 
+    @Autowired
+    private OrganizationCacheWarmer cacheWarmer;
+
     @RequestMapping(value="/eureka/services",method = RequestMethod.GET)
     public List<String> getEurekaServices() {
 
         return discoveryService.getEurekaServices();
     }
+
+    @RequestMapping(value="/cache/warm-up",method = RequestMethod.POST)
+    public int warmUpCache(@RequestParam(value="size", defaultValue="100") int size) {
+
+        return cacheWarmer.warmUp(size);
+    }
 }
 
@@ -11,4 +11,7 @@ import org.springframework.messaging.SubscribableChannel;
 public interface CustomChannels {
     @Input("inboundOrgChanges")
     SubscribableChannel orgs();
+
+    @Input("nearCacheOrgChanges")
+    SubscribableChannel nearCacheOrgs();
 }
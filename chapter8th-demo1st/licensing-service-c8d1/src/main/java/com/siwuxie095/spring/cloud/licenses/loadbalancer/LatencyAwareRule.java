@@ -0,0 +1,86 @@
+package com.siwuxie095.spring.cloud.licenses.loadbalancer;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractLoadBalancer;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ribbon rule that picks two random reachable instances and keeps the one
+ * with the lower expected cost (power of two choices). The cost is the
+ * latency EWMA times the requests in flight, inflated as the error rate of
+ * the instance rises.
+ *
+ * Instances this service has not called yet are scored from Ribbon's own
+ * server stats.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:35:40
+ */
+@SuppressWarnings("all")
+public class LatencyAwareRule extends AbstractLoadBalancerRule {
+    private final InstanceLoadStats instanceLoadStats;
+
+    public LatencyAwareRule(InstanceLoadStats instanceLoadStats) {
+        this.instanceLoadStats = instanceLoadStats;
+    }
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+    }
+
+    @Override
+    public Server choose(Object key) {
+        ILoadBalancer loadBalancer = getLoadBalancer();
+        if (loadBalancer == null) {
+            return null;
+        }
+
+        List<Server> servers = loadBalancer.getReachableServers();
+        int size = servers.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return servers.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Server a = servers.get(first);
+        Server b = servers.get(second);
+        return cost(loadBalancer, a) <= cost(loadBalancer, b) ? a : b;
+    }
+
+    private double cost(ILoadBalancer loadBalancer, Server server) {
+        InstanceLoadStats.Instance stats = instanceLoadStats.find(server.getHost(), server.getPort());
+
+        int inFlight = stats == null ? 0 : stats.getInFlight();
+        double latency = stats != null && stats.isSampled() ? stats.getLatencyMillis() : 0;
+        double errorRate = stats == null ? 0 : stats.getErrorRate();
+
+        if (loadBalancer instanceof AbstractLoadBalancer) {
+            ServerStats serverStats = ((AbstractLoadBalancer) loadBalancer).getLoadBalancerStats().getSingleServerStat(server);
+            if (serverStats != null) {
+                inFlight = Math.max(inFlight, serverStats.getActiveRequestsCount());
+                if (stats == null || !stats.isSampled()) {
+                    latency = serverStats.getResponseTimeAvg();
+                }
+            }
+        }
+
+        // Squaring the success rate backs off an instance quickly once its errors start rising.
+        double success = Math.max(0.01, 1 - errorRate);
+        return (latency + 1) * (inFlight + 1) / (success * success);
+    }
+}
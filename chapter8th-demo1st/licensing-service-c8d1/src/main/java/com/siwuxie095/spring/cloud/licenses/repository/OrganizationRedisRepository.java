@@ -2,6 +2,10 @@ package com.siwuxie095.spring.cloud.licenses.repository;
 
 import com.siwuxie095.spring.cloud.licenses.model.Organization;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Jiajing Li
  * @date 2021-06-21 08:09:23
@@ -11,5 +15,8 @@ public interface OrganizationRedisRepository {
     void saveOrganization(Organization org);
     void updateOrganization(Organization org);
     void deleteOrganization(String organizationId);
+    void evictOrganization(String organizationId);
     Organization findOrganization(String organizationId);
+    Map<String, Organization> findOrganizations(Collection<String> organizationIds);
+    List<String> findMostAccessedIds(int count);
 }
@@ -1,14 +1,44 @@
 package com.siwuxie095.spring.cloud.licenses.repository;
 
 import com.siwuxie095.spring.cloud.licenses.model.Organization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.HashOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Every organization is cached under a key of its own, organization:{id},
+ * with a time to live, so entries expire one by one and spread over the
+ * slots of a Redis Cluster. The braces make the id the hash tag, keys of
+ * the same organization (like its reload lease) land in the same slot.
+ *
+ * The sorted set organization:access ranks organizations by how often they
+ * were read from or written to Redis lately. Every access counts twice as
+ * much as one a half-life earlier (organization.cache.redis.access-half-life),
+ * so a new working set overtakes organizations that used to be hot. The
+ * ranking caps the number of cached organizations, the lowest go first, and
+ * tells the warm-up which organizations to preload.
+ *
  * @author Jiajing Li
  * @date 2021-06-21 08:09:54
  */
@@ -16,10 +46,47 @@ import javax.annotation.PostConstruct;
 @Repository
 public class OrganizationRedisRepositoryImpl implements OrganizationRedisRepository {
 
-    private static final String HASH_NAME ="organization";
+    private static final String KEY_PREFIX = "organization:";
+    private static final String ACCESS_KEY = "organization:access";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationRedisRepositoryImpl.class);
+
+    /**
+     * Adds an access of weight 2^ARGV[1] to the score of each of ARGV[2..n].
+     * Scores hold log2 of the summed weights: the weights grow with time
+     * instead of older scores being halved every half-life, and as plain sums
+     * they would overflow. Runs as one EVALSHA, Jedis cannot EVAL in a
+     * pipeline.
+     */
+    private static final RedisScript<Long> RECORD_ACCESS = new DefaultRedisScript<>(
+            "local weight = tonumber(ARGV[1]) "
+            + "for i = 2, #ARGV do "
+            + "  local added = weight "
+            + "  local score = redis.call('ZSCORE', KEYS[1], ARGV[i]) "
+            + "  if score then "
+            + "    score = tonumber(score) "
+            + "    local high = math.max(score, added) "
+            + "    added = high + math.log(1 + 2 ^ (math.min(score, added) - high)) / math.log(2) "
+            + "  end "
+            + "  redis.call('ZADD', KEYS[1], added, ARGV[i]) "
+            + "end "
+            + "return #ARGV - 1", Long.class);
 
     private RedisTemplate<String, Organization> redisTemplate;
-    private HashOperations hashOperations;
+    private ValueOperations<String, Organization> valueOperations;
+    private ZSetOperations<String, String> accessOperations;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${organization.cache.redis.ttl:300000}")
+    private long ttl;
+
+    @Value("${organization.cache.redis.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${organization.cache.redis.access-half-life:3600000}")
+    private long accessHalfLife;
 
     public OrganizationRedisRepositoryImpl() {
         super();
@@ -32,29 +99,123 @@ public class OrganizationRedisRepositoryImpl implements OrganizationRedisReposit
 
     @PostConstruct
     private void init() {
-        hashOperations = redisTemplate.opsForHash();
+        valueOperations = redisTemplate.opsForValue();
+        accessOperations = stringRedisTemplate.opsForZSet();
     }
 
+    public static String key(String organizationId) {
+        return KEY_PREFIX + "{" + organizationId + "}";
+    }
 
     @Override
     public void saveOrganization(Organization org) {
-        hashOperations.put(HASH_NAME, org.getId(), org);
+        // Up to a tenth is taken off the time to live, so entries cached together do not all expire together.
+        long jitter = ttl > 10 ? ThreadLocalRandom.current().nextLong(ttl / 10) : 0;
+        valueOperations.set(key(org.getId()), org, ttl - jitter, TimeUnit.MILLISECONDS);
+        recordAccess(Collections.singleton(org.getId()));
+        try {
+            trim(org.getId());
+        } catch (Exception ex) {
+            logger.error("Unable to trim the organizations cached in Redis. Exception {}", ex);
+        }
     }
 
     @Override
     public void updateOrganization(Organization org) {
-        hashOperations.put(HASH_NAME, org.getId(), org);
+        saveOrganization(org);
     }
 
     @Override
     public void deleteOrganization(String organizationId) {
-        hashOperations.delete(HASH_NAME, organizationId);
+        redisTemplate.delete(key(organizationId));
+        accessOperations.remove(ACCESS_KEY, organizationId);
+    }
+
+    @Override
+    public void evictOrganization(String organizationId) {
+        redisTemplate.delete(key(organizationId));
     }
 
     @Override
     public Organization findOrganization(String organizationId) {
-        return (Organization) hashOperations.get(HASH_NAME, organizationId);
+        Organization org = valueOperations.get(key(organizationId));
+        if (org != null) {
+            recordAccess(Collections.singleton(organizationId));
+        }
+        return org;
     }
 
-}
+    /**
+     * One pipelined round trip of GETs rather than an MGET, which would have
+     * to span slots in a cluster. Organizations not in Redis are left out.
+     */
+    @Override
+    public Map<String, Organization> findOrganizations(Collection<String> organizationIds) {
+        List<String> ids = new ArrayList<>(organizationIds);
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String id : ids) {
+                connection.get(key(id).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        Map<String, Organization> orgs = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (values.get(i) != null) {
+                orgs.put(ids.get(i), (Organization) values.get(i));
+            }
+        }
+        if (!orgs.isEmpty()) {
+            recordAccess(orgs.keySet());
+        }
+        return orgs;
+    }
+
+    @Override
+    public List<String> findMostAccessedIds(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        Set<String> ids = accessOperations.reverseRange(ACCESS_KEY, 0, count - 1);
+        return ids == null ? Collections.emptyList() : new ArrayList<>(ids);
+    }
 
+    /**
+     * The ranking is bookkeeping: failing to update it must neither turn a
+     * value read from Redis into a miss nor fail a save.
+     */
+    private void recordAccess(Collection<String> organizationIds) {
+        List<String> args = new ArrayList<>(organizationIds.size() + 1);
+        args.add(String.valueOf(System.currentTimeMillis() / (double) accessHalfLife));
+        args.addAll(organizationIds);
+        try {
+            stringRedisTemplate.execute(RECORD_ACCESS, Collections.singletonList(ACCESS_KEY), args.toArray());
+        } catch (Exception ex) {
+            logger.error("Unable to record the access of {} organizations in Redis. Exception {}", organizationIds.size(), ex);
+        }
+    }
+
+    /**
+     * Drops the least accessed organizations once there are more than
+     * max-entries, except the one that was just saved. Entries are deleted
+     * one by one, a multi-key DEL would span slots in a cluster.
+     */
+    private void trim(String savedId) {
+        Long size = accessOperations.zCard(ACCESS_KEY);
+        if (size == null || size <= maxEntries) {
+            return;
+        }
+        Set<String> victims = accessOperations.range(ACCESS_KEY, 0, size - maxEntries);
+        List<Object> removed = new ArrayList<>();
+        for (String victim : victims) {
+            if (removed.size() < size - maxEntries && !victim.equals(savedId)) {
+                redisTemplate.delete(key(victim));
+                removed.add(victim);
+            }
+        }
+        if (!removed.isEmpty()) {
+            accessOperations.remove(ACCESS_KEY, removed.toArray());
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.siwuxie095.spring.cloud.organization.config;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets the embedded Tomcat connector also speak cleartext HTTP/2 (h2c),
+ * both through the HTTP/1.1 Upgrade header and with prior knowledge, next
+ * to plain HTTP/1.1 on the same port. Enabled with http2.h2c.enabled.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:53:02
+ */
+@SuppressWarnings("all")
+@Configuration
+@ConditionalOnProperty(name = "http2.h2c.enabled", havingValue = "true")
+public class Http2ServerConfig {
+
+    @Bean
+    public EmbeddedServletContainerCustomizer h2cContainerCustomizer() {
+        return new EmbeddedServletContainerCustomizer() {
+            @Override
+            public void customize(ConfigurableEmbeddedServletContainer container) {
+                if (container instanceof TomcatEmbeddedServletContainerFactory) {
+                    ((TomcatEmbeddedServletContainerFactory) container).addConnectorCustomizers(
+                            new TomcatConnectorCustomizer() {
+                                @Override
+                                public void customize(Connector connector) {
+                                    connector.addUpgradeProtocol(new Http2Protocol());
+                                }
+                            });
+                }
+            }
+        };
+    }
+}
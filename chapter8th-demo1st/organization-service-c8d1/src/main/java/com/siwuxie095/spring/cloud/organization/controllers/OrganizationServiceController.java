@@ -9,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * @author Jiajing Li
  * @date 2021-06-21 08:25:11
@@ -32,6 +34,17 @@ public class OrganizationServiceController {
         return org;
     }
 
+    /**
+     * Looks up several organizations in one call, ids comma separated.
+     * Organizations that do not exist are left out of the result.
+     */
+    @RequestMapping(method = RequestMethod.GET, params = "ids")
+    public List<Organization> getOrganizations(@RequestParam("ids") List<String> organizationIds) {
+        logger.debug("Looking up data for {} orgs with correlation id {}", organizationIds.size(), UserContextHolder.getContext().getCorrelationId());
+
+        return orgService.getOrgs(organizationIds);
+    }
+
     @RequestMapping(value="/{organizationId}",method = RequestMethod.PUT)
     public void updateOrganization( @PathVariable("organizationId") String orgId, @RequestBody Organization org) {
         orgService.updateOrg( org );
@@ -6,6 +6,9 @@ import com.siwuxie095.spring.cloud.organization.repository.OrganizationRepositor
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -26,6 +29,14 @@ public class OrganizationService {
         return orgRepository.findById(organizationId);
     }
 
+    public List<Organization> getOrgs(Collection<String> organizationIds) {
+        List<Organization> orgs = new ArrayList<>();
+        for (Organization org : orgRepository.findAll(organizationIds)) {
+            orgs.add(org);
+        }
+        return orgs;
+    }
+
     public void saveOrg(Organization org){
         org.setId(UUID.randomUUID().toString());
 
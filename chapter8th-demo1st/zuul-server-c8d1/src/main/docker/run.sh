@@ -19,4 +19,6 @@ java -Djava.security.egd=file:/dev/./urandom -Dserver.port=$SERVER_PORT   \
      -Deureka.client.serviceUrl.defaultZone=$EUREKASERVER_URI   \
      -Dspring.cloud.config.uri=$CONFIGSERVER_URI                \
      -Dspring.profiles.active=$PROFILE                          \
+     -Dspring.cloud.stream.kafka.binder.zkNodes=$KAFKASERVER_URI          \
+     -Dspring.cloud.stream.kafka.binder.brokers=$ZKSERVER_URI             \
      -jar /usr/local/zuulservice/@project.build.finalName@.jar
@@ -1,9 +1,22 @@
 package com.siwuxie095.spring.cloud.zuulsvr;
 
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.InstanceLoadStats;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.LatencyAwareRibbonConfiguration;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.StatsRecordingLoadBalancerClient;
+import com.siwuxie095.spring.cloud.zuulsvr.routes.IndexedRouteLocator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.netflix.ribbon.RibbonClients;
+import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancerClient;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
 import org.springframework.cloud.netflix.zuul.EnableZuulProxy;
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties;
+import org.springframework.cloud.netflix.zuul.filters.discovery.DiscoveryClientRouteLocator;
+import org.springframework.cloud.netflix.zuul.filters.discovery.ServiceRouteMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
@@ -14,6 +27,7 @@ import org.springframework.web.client.RestTemplate;
 @SuppressWarnings("all")
 @SpringBootApplication
 @EnableZuulProxy
+@RibbonClients(defaultConfiguration = LatencyAwareRibbonConfiguration.class)
 public class ZuulServerApplication {
 
     @LoadBalanced
@@ -22,6 +36,18 @@ public class ZuulServerApplication {
         return new RestTemplate();
     }
 
+    @Bean
+    public LoadBalancerClient loadBalancerClient(SpringClientFactory springClientFactory, InstanceLoadStats instanceLoadStats) {
+        return new StatsRecordingLoadBalancerClient(new RibbonLoadBalancerClient(springClientFactory), instanceLoadStats);
+    }
+
+    @Bean
+    public DiscoveryClientRouteLocator discoveryRouteLocator(ServerProperties server, DiscoveryClient discovery,
+                                                             ZuulProperties zuulProperties,
+                                                             ServiceRouteMapper serviceRouteMapper) {
+        return new IndexedRouteLocator(server.getServletPrefix(), discovery, zuulProperties, serviceRouteMapper);
+    }
+
     public static void main(String[] args) {
         SpringApplication.run(ZuulServerApplication.class, args);
     }
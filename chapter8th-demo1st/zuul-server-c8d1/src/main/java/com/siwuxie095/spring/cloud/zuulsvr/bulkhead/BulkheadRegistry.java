@@ -0,0 +1,135 @@
+package com.siwuxie095.spring.cloud.zuulsvr.bulkhead;
+
+import com.siwuxie095.spring.cloud.zuulsvr.config.BulkheadProperties;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bulkhead and, where configured, the dedicated special routes
+ * connection pool of every route. Queue depth, rejections and pool usage
+ * per route are published on /metrics.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:33:19
+ */
+@SuppressWarnings("all")
+@Component
+public class BulkheadRegistry implements PublicMetrics {
+    private static final String PREFIX = "gateway.bulkhead.";
+
+    @Autowired
+    BulkheadProperties properties;
+
+    @Autowired
+    RequestConfig specialRoutesRequestConfig;
+
+    @Value("${specialroutes.httpclient.idle-timeout:30000}")
+    private long idleTimeout;
+
+    @Value("${specialroutes.httpclient.validate-after-inactivity:2000}")
+    private int validateAfterInactivity;
+
+    private final ConcurrentMap<String, RouteBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DedicatedPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Limits changed through /refresh apply to new requests as soon as the
+     * properties are rebound: a bulkhead whose limits no longer match is
+     * replaced on its next use. Requests in flight give their slot back to
+     * the bulkhead they took it from.
+     */
+    public RouteBulkhead getBulkhead(String serviceId) {
+        BulkheadProperties.Bulkhead settings = properties.getBulkhead(serviceId);
+        int maxConcurrent = settings.getMaxConcurrent();
+        int maxQueue = settings.getMaxQueue();
+        long maxWait = settings.getMaxWait();
+        RouteBulkhead bulkhead = bulkheads.get(serviceId);
+        if (bulkhead != null && bulkhead.hasLimits(maxConcurrent, maxQueue, maxWait)) {
+            return bulkhead;
+        }
+        return bulkheads.compute(serviceId, (id, existing) -> existing != null && existing.hasLimits(maxConcurrent, maxQueue, maxWait)
+                ? existing : new RouteBulkhead(maxConcurrent, maxQueue, maxWait));
+    }
+
+    /**
+     * The route's own special routes client, or null when it shares the
+     * default one.
+     */
+    public CloseableHttpClient getHttpClient(String serviceId) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        BulkheadProperties.Bulkhead settings = properties.getBulkhead(serviceId);
+        if (!settings.getDedicatedPool()) {
+            return null;
+        }
+        return pools.computeIfAbsent(serviceId, id -> new DedicatedPool(settings.getMaxConnections())).client;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (DedicatedPool pool : pools.values()) {
+            HttpClientUtils.closeQuietly(pool.client);
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        for (Map.Entry<String, RouteBulkhead> entry : bulkheads.entrySet()) {
+            String prefix = PREFIX + entry.getKey() + ".";
+            RouteBulkhead bulkhead = entry.getValue();
+            metrics.add(new Metric<Integer>(prefix + "active", bulkhead.getActive()));
+            metrics.add(new Metric<Integer>(prefix + "max", bulkhead.getMaxConcurrent()));
+            metrics.add(new Metric<Integer>(prefix + "queued", bulkhead.getQueued()));
+            metrics.add(new Metric<Integer>(prefix + "queued.peak", bulkhead.drainPeakQueued()));
+            metrics.add(new Metric<Long>(prefix + "rejected.full", bulkhead.getRejectedFull()));
+            metrics.add(new Metric<Long>(prefix + "rejected.timeout", bulkhead.getRejectedTimeout()));
+        }
+        for (Map.Entry<String, DedicatedPool> entry : pools.entrySet()) {
+            String prefix = PREFIX + entry.getKey() + ".pool.";
+            PoolStats stats = entry.getValue().connectionManager.getTotalStats();
+            metrics.add(new Metric<Integer>(prefix + "leased", stats.getLeased()));
+            metrics.add(new Metric<Integer>(prefix + "available", stats.getAvailable()));
+            metrics.add(new Metric<Integer>(prefix + "pending", stats.getPending()));
+        }
+        return metrics;
+    }
+
+    private class DedicatedPool {
+        final PoolingHttpClientConnectionManager connectionManager;
+        final CloseableHttpClient client;
+
+        DedicatedPool(int maxConnections) {
+            connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+            connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+            client = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(specialRoutesRequestConfig)
+                    .disableCookieManagement()
+                    .evictExpiredConnections()
+                    .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+    }
+}
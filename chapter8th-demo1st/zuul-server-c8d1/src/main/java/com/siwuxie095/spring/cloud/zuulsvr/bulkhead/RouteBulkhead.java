@@ -0,0 +1,119 @@
+package com.siwuxie095.spring.cloud.zuulsvr.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of one route. A request over the limit waits up to
+ * maxWait for a slot if fewer than maxQueue requests are waiting already,
+ * otherwise it is rejected right away. Slots are handed out in arrival
+ * order, so a queued request is not overtaken by later ones.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:27:40
+ */
+@SuppressWarnings("all")
+public class RouteBulkhead {
+    private final Semaphore semaphore;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWait;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+
+    public RouteBulkhead(int maxConcurrent, int maxQueue, long maxWait) {
+        this.semaphore = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Returns a permit for the request, or null when it is rejected.
+     */
+    public Permit tryAcquire() {
+        try {
+            // The timed variant with 0 still queues behind waiting requests, unlike tryAcquire().
+            if (semaphore.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return new Permit();
+            }
+            if (maxQueue <= 0 || maxWait <= 0) {
+                rejectedFull.increment();
+                return null;
+            }
+
+            int depth = queued.incrementAndGet();
+            try {
+                if (depth > maxQueue) {
+                    rejectedFull.increment();
+                    return null;
+                }
+                peakQueued.accumulateAndGet(depth, Math::max);
+                if (semaphore.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                    return new Permit();
+                }
+                rejectedTimeout.increment();
+                return null;
+            }
+            finally {
+                queued.decrementAndGet();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            rejectedTimeout.increment();
+            return null;
+        }
+    }
+
+    public boolean hasLimits(int maxConcurrent, int maxQueue, long maxWait) {
+        return this.maxConcurrent == maxConcurrent && this.maxQueue == maxQueue && this.maxWait == maxWait;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - semaphore.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Highest queue depth since the last call.
+     */
+    public int drainPeakQueued() {
+        return peakQueued.getAndSet(queued.get());
+    }
+
+    public long getRejectedFull() {
+        return rejectedFull.sum();
+    }
+
+    public long getRejectedTimeout() {
+        return rejectedTimeout.sum();
+    }
+
+    /**
+     * The slot one request holds. Releasing is idempotent, so every path
+     * that ends a request may release.
+     */
+    public class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.siwuxie095.spring.cloud.zuulsvr.cache;
+
+import com.netflix.util.Pair;
+
+import java.util.List;
+
+/**
+ * @author Jiajing Li
+ * @date 2026-10-18 15:11:40
+ */
+@SuppressWarnings("all")
+public class CachedResponse {
+    private final String key;
+    private final String path;
+    private final String query;
+    private final int status;
+    private final List<Pair<String, String>> headers;
+    private final byte[] body;
+    private final boolean gzipped;
+    private final String etag;
+    private final long expiresAt;
+
+    public CachedResponse(String key, String path, String query, int status, List<Pair<String, String>> headers,
+                          byte[] body, boolean gzipped, String etag, long expiresAt) {
+        this.key = key;
+        this.path = path;
+        this.query = query;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.gzipped = gzipped;
+        this.etag = etag;
+        this.expiresAt = expiresAt;
+    }
+
+    public CachedResponse renew(long expiresAt) {
+        return new CachedResponse(key, path, query, status, headers, body, gzipped, etag, expiresAt);
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    public long size() {
+        long size = body.length + key.length();
+        for (Pair<String, String> header : headers) {
+            size += header.first().length() + header.second().length();
+        }
+        return size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public List<Pair<String, String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public boolean isGzipped() {
+        return gzipped;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,97 @@
+package com.siwuxie095.spring.cloud.zuulsvr.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Upstream calls currently in flight, keyed by request key.
+ *
+ * The first request for a key becomes the leader and goes upstream, later
+ * identical requests wait on its flight. A flight that is not completed
+ * within the wait bound is abandoned, so a leader that never finishes
+ * cannot block its key.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:12:47
+ */
+@SuppressWarnings("all")
+@Component
+public class InFlightRequests {
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the flight for the key. When no flight was in progress the
+     * caller becomes its leader, see {@link Flight#isLedBy}, and has to
+     * call {@link #complete} once the upstream has answered.
+     */
+    public Flight join(String key, long maxWait, Object owner) {
+        Flight created = new Flight(key, owner, System.currentTimeMillis() + maxWait);
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, created);
+            if (existing == null) {
+                return created;
+            }
+            if (!existing.isExpired(System.currentTimeMillis())) {
+                return existing;
+            }
+            flights.remove(key, existing);
+        }
+    }
+
+    public void complete(Flight flight, CachedResponse response) {
+        flights.remove(flight.key, flight);
+        flight.result.complete(response);
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    public static class Flight {
+        private final String key;
+        private final Object owner;
+        private final long deadline;
+        private final CompletableFuture<CachedResponse> result = new CompletableFuture<>();
+
+        Flight(String key, Object owner, long deadline) {
+            this.key = key;
+            this.owner = owner;
+            this.deadline = deadline;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public boolean isLedBy(Object owner) {
+            return this.owner == owner;
+        }
+
+        boolean isExpired(long now) {
+            return now >= deadline;
+        }
+
+        /**
+         * Waits for the leader until the flight deadline. Returns null when
+         * the leader timed out or had nothing to share.
+         */
+        public CachedResponse await() throws InterruptedException {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                return result.get(remaining, TimeUnit.MILLISECONDS);
+            }
+            catch (ExecutionException | TimeoutException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.siwuxie095.spring.cloud.zuulsvr.cache;
+
+import com.siwuxie095.spring.cloud.zuulsvr.config.ResponseCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Builds the key that identical GETs share: the service id, the request
+ * URI and query string, and the values of gateway.cache.vary-headers.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:08:35
+ */
+@SuppressWarnings("all")
+@Component
+public class RequestKeyBuilder {
+
+    @Autowired
+    ResponseCacheProperties properties;
+
+    public String build(HttpServletRequest request, String serviceId) {
+        StringBuilder key = new StringBuilder(128)
+                .append(serviceId).append('|')
+                .append(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        for (String header : properties.getVaryHeaders()) {
+            key.append('|');
+            String value = request.getHeader(header);
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+}
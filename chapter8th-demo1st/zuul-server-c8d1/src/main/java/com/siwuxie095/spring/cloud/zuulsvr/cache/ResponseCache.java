@@ -0,0 +1,158 @@
+package com.siwuxie095.spring.cloud.zuulsvr.cache;
+
+import com.siwuxie095.spring.cloud.zuulsvr.config.ResponseCacheProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.routes.RouteTableChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Size bounded store for cached gateway responses.
+ *
+ * Reads are a plain map lookup. Writes and evictions go through a lock that
+ * keeps the map and the insertion order in step, so every cached body is
+ * counted exactly once. Once the total size goes over gateway.cache.max-bytes
+ * the oldest insertions are evicted first.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 15:18:03
+ */
+@SuppressWarnings("all")
+@Component
+public class ResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+    private static final String IDS_PARAMETER = "ids=";
+
+    @Autowired
+    ResponseCacheProperties properties;
+
+    private final ConcurrentMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    // Guards every write to entries and totalBytes. A replaced entry moves to the end.
+    private final LinkedHashMap<String, CachedResponse> insertionOrder = new LinkedHashMap<>();
+    private volatile long totalBytes;
+
+    public CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public void put(CachedResponse response) {
+        synchronized (insertionOrder) {
+            CachedResponse previous = insertionOrder.remove(response.getKey());
+            insertionOrder.put(response.getKey(), response);
+            entries.put(response.getKey(), response);
+            totalBytes += response.size() - (previous == null ? 0 : previous.size());
+
+            Iterator<CachedResponse> eldest = insertionOrder.values().iterator();
+            while (totalBytes > properties.getMaxBytes() && eldest.hasNext()) {
+                CachedResponse evicted = eldest.next();
+                eldest.remove();
+                entries.remove(evicted.getKey());
+                totalBytes -= evicted.size();
+            }
+        }
+    }
+
+    private boolean remove(CachedResponse response) {
+        synchronized (insertionOrder) {
+            if (!insertionOrder.remove(response.getKey(), response)) {
+                return false;
+            }
+            entries.remove(response.getKey());
+            totalBytes -= response.size();
+            return true;
+        }
+    }
+
+    /**
+     * Drops every cached response whose path carries the organization id as
+     * a segment, e.g. /v1/organizations/{id} or /v1/organizations/{id}/licenses/,
+     * or whose ids query parameter lists it, e.g. /v1/organizations?ids=a,{id}.
+     */
+    public void evictOrganization(String organizationId) {
+        int evicted = 0;
+        for (CachedResponse response : entries.values()) {
+            if ((hasSegment(response.getPath(), organizationId)
+                    || listsOrganization(response.getQuery(), organizationId)) && remove(response)) {
+                evicted++;
+            }
+        }
+        logger.debug("Evicted {} cached responses for organization {}", evicted, organizationId);
+    }
+
+    private boolean hasSegment(String path, String organizationId) {
+        for (String segment : path.split("/")) {
+            if (segment.equals(organizationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean listsOrganization(String query, String organizationId) {
+        if (query == null) {
+            return false;
+        }
+        for (String parameter : query.split("&")) {
+            if (!parameter.startsWith(IDS_PARAMETER)) {
+                continue;
+            }
+            String ids;
+            try {
+                ids = URLDecoder.decode(parameter.substring(IDS_PARAMETER.length()), "UTF-8");
+            }
+            catch (UnsupportedEncodingException | IllegalArgumentException ex) {
+                // Better to drop a response too many than to keep serving a stale one.
+                return true;
+            }
+            for (String id : ids.split(",")) {
+                if (id.trim().equals(organizationId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the cached responses of services whose routes changed, cache keys
+     * start with the service id. Services with unchanged routes stay cached.
+     */
+    @EventListener
+    public void onRouteTableChanged(RouteTableChangedEvent event) {
+        int evicted = 0;
+        for (String serviceId : event.getServiceIds()) {
+            String prefix = serviceId + "|";
+            for (CachedResponse response : entries.values()) {
+                if (response.getKey().startsWith(prefix) && remove(response)) {
+                    evicted++;
+                }
+            }
+        }
+        logger.debug("Evicted {} cached responses for changed routes of {}", evicted, event.getServiceIds());
+    }
+
+    public void evictAll() {
+        synchronized (insertionOrder) {
+            entries.clear();
+            insertionOrder.clear();
+            totalBytes = 0;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,140 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per route (service id) bulkheads, the gateway counterpart of the Hystrix
+ * threadPoolKey settings of the services. Every route gets its own
+ * concurrency limit and wait queue, and optionally its own connection pool
+ * for special routes. Whatever a route's entry leaves out is taken from
+ * route-default:
+ *
+ * <pre>
+ * gateway.bulkhead.enabled: true
+ * gateway.bulkhead.route-default.max-concurrent: 100
+ * gateway.bulkhead.routes.licensingservice.max-concurrent: 30
+ * gateway.bulkhead.routes.licensingservice.max-queue: 10
+ * gateway.bulkhead.routes.licensingservice.max-wait: 200
+ * gateway.bulkhead.routes.licensingservice.dedicated-pool: true
+ * </pre>
+ *
+ * Ribbon routes already have a connection pool per service, sized with
+ * {serviceId}.ribbon.MaxTotalConnections.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:24:06
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.bulkhead")
+public class BulkheadProperties {
+    private static final Bulkhead DEFAULTS = new Bulkhead();
+
+    static {
+        DEFAULTS.setMaxConcurrent(100);
+        DEFAULTS.setMaxQueue(0);
+        DEFAULTS.setMaxWait(0L);
+        DEFAULTS.setDedicatedPool(false);
+        DEFAULTS.setMaxConnections(50);
+    }
+
+    private boolean enabled = false;
+    private Bulkhead routeDefault = new Bulkhead();
+    private Map<String, Bulkhead> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Bulkhead getRouteDefault() {
+        return routeDefault;
+    }
+
+    public void setRouteDefault(Bulkhead routeDefault) {
+        this.routeDefault = routeDefault;
+    }
+
+    public Map<String, Bulkhead> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Bulkhead> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * The settings of the route, with route-default and then the built-in
+     * defaults filled in for whatever is not set.
+     */
+    public Bulkhead getBulkhead(String serviceId) {
+        Bulkhead defaults = routeDefault.orElse(DEFAULTS);
+        Bulkhead bulkhead = routes.get(serviceId);
+        return bulkhead != null ? bulkhead.orElse(defaults) : defaults;
+    }
+
+    public static class Bulkhead {
+        private Integer maxConcurrent;
+        private Integer maxQueue;
+        private Long maxWait;
+        private Boolean dedicatedPool;
+        private Integer maxConnections;
+
+        public Integer getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(Integer maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Integer getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(Integer maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Long maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public Boolean getDedicatedPool() {
+            return dedicatedPool;
+        }
+
+        public void setDedicatedPool(Boolean dedicatedPool) {
+            this.dedicatedPool = dedicatedPool;
+        }
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        Bulkhead orElse(Bulkhead defaults) {
+            Bulkhead merged = new Bulkhead();
+            merged.maxConcurrent = maxConcurrent != null ? maxConcurrent : defaults.maxConcurrent;
+            merged.maxQueue = maxQueue != null ? maxQueue : defaults.maxQueue;
+            merged.maxWait = maxWait != null ? maxWait : defaults.maxWait;
+            merged.dedicatedPool = dedicatedPool != null ? dedicatedPool : defaults.dedicatedPool;
+            merged.maxConnections = maxConnections != null ? maxConnections : defaults.maxConnections;
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of request coalescing. Only the services listed under
+ * gateway.coalescing.routes share upstream calls:
+ *
+ * <pre>
+ * gateway.coalescing.enabled: true
+ * gateway.coalescing.routes: organizationservice
+ * </pre>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:10:02
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = false;
+    private long maxWait = 2000;
+    private int maxBodyBytes = 256 * 1024;
+    private List<String> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+}
@@ -0,0 +1,89 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of gateway response compression. Responses smaller than minSize
+ * bytes or with a content type outside mimeTypes are sent as they are:
+ *
+ * <pre>
+ * gateway.compression.enabled: true
+ * gateway.compression.min-size: 1024
+ * gateway.compression.mime-types: application/json,text/*
+ * </pre>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:12:37
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+    private boolean enabled = false;
+    private int minSize = 1024;
+    private int level = 6;
+    private int maxDeflaters = 64;
+    private List<String> mimeTypes = new ArrayList<>(Arrays.asList(
+            "application/json", "application/xml", "application/javascript", "text/*"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public int getMaxDeflaters() {
+        return maxDeflaters;
+    }
+
+    public void setMaxDeflaters(int maxDeflaters) {
+        this.maxDeflaters = maxDeflaters;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int separator = contentType.indexOf(';');
+        String mimeType = (separator < 0 ? contentType : contentType.substring(0, separator)).trim().toLowerCase();
+        for (String candidate : mimeTypes) {
+            if (candidate.endsWith("/*")
+                    ? mimeType.startsWith(candidate.substring(0, candidate.length() - 1))
+                    : mimeType.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of hedged requests. Only GETs to the services listed under
+ * gateway.hedging.routes are hedged:
+ *
+ * <pre>
+ * gateway.hedging.enabled: true
+ * gateway.hedging.routes: licensingservice, organizationservice
+ * </pre>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:41:19
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+    private boolean enabled = false;
+    private List<String> routes = new ArrayList<>();
+    // Upstream latency percentile of a route after which the hedge is sent.
+    private double percentile = 0.95;
+    private long minDelay = 5;
+    // Delay used until a route has min-samples recorded latencies.
+    private long defaultDelay = 50;
+    private int minSamples = 100;
+    // Hedges allowed, as a percentage of the requests of a route.
+    private int budgetPercent = 10;
+    private long timeout = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public long getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(long minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public long getDefaultDelay() {
+        return defaultDelay;
+    }
+
+    public void setDefaultDelay(long defaultDelay) {
+        this.defaultDelay = defaultDelay;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public int getBudgetPercent() {
+        return budgetPercent;
+    }
+
+    public void setBudgetPercent(int budgetPercent) {
+        this.budgetPercent = budgetPercent;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,93 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared pooled clients used by the route filters, so forwarded requests
+ * reuse keep-alive connections instead of opening a new one per call.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 09:12:40
+ */
+@SuppressWarnings("all")
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${specialroutes.httpclient.max-total:200}")
+    private int maxTotal;
+
+    @Value("${specialroutes.httpclient.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${specialroutes.httpclient.connect-timeout:2000}")
+    private int connectTimeout;
+
+    @Value("${specialroutes.httpclient.read-timeout:10000}")
+    private int readTimeout;
+
+    @Value("${specialroutes.httpclient.connection-request-timeout:1000}")
+    private int connectionRequestTimeout;
+
+    @Value("${specialroutes.httpclient.idle-timeout:30000}")
+    private long idleTimeout;
+
+    @Value("${specialroutes.httpclient.validate-after-inactivity:2000}")
+    private int validateAfterInactivity;
+
+    @Value("${specialroutes.async.max-total:2000}")
+    private int asyncMaxTotal;
+
+    @Value("${specialroutes.async.max-per-route:500}")
+    private int asyncMaxPerRoute;
+
+    @Bean
+    public PoolingHttpClientConnectionManager specialRoutesConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient specialRoutesHttpClient() {
+        return HttpClients.custom()
+                .setConnectionManager(specialRoutesConnectionManager())
+                .setDefaultRequestConfig(specialRoutesRequestConfig())
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean(initMethod = "start")
+    public CloseableHttpAsyncClient specialRoutesAsyncHttpClient() {
+        return HttpAsyncClients.custom()
+                .setMaxConnTotal(asyncMaxTotal)
+                .setMaxConnPerRoute(asyncMaxPerRoute)
+                .setDefaultRequestConfig(specialRoutesRequestConfig())
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public RequestConfig specialRoutesRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .setRedirectsEnabled(false)
+                .build();
+    }
+
+}
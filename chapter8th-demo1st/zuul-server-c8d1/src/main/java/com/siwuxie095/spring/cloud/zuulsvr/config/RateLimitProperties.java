@@ -0,0 +1,117 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission limits of the gateway, per tenant (tmx-org-id) and per route
+ * (service id). A value of 0 means unlimited. The limits are rebound on a
+ * /refresh, so they can be changed through the config server:
+ *
+ * <pre>
+ * gateway.ratelimit.enabled: true
+ * gateway.ratelimit.tenant-default.permits-per-second: 50
+ * gateway.ratelimit.tenant-default.max-in-flight: 20
+ * gateway.ratelimit.tenants.e254f8c-c442-4ebe-a82a-e2fc1d1ff78a.permits-per-second: 200
+ * gateway.ratelimit.routes.licensingservice.max-in-flight: 100
+ * </pre>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:02:45
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.ratelimit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    private String mode = "local";
+    private Limit tenantDefault = new Limit();
+    private Map<String, Limit> tenants = new HashMap<>();
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public Limit getTenantDefault() {
+        return tenantDefault;
+    }
+
+    public void setTenantDefault(Limit tenantDefault) {
+        this.tenantDefault = tenantDefault;
+    }
+
+    public Map<String, Limit> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Limit> tenants) {
+        this.tenants = tenants;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    public Limit getTenantLimit(String tenant) {
+        Limit limit = tenants.get(tenant);
+        return limit != null ? limit : tenantDefault;
+    }
+
+    public Limit getRouteLimit(String serviceId) {
+        return routes.get(serviceId);
+    }
+
+    public static class Limit {
+        private double permitsPerSecond = 0;
+        private int burst = 0;
+        private int maxInFlight = 0;
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        /**
+         * Requests that may be admitted at once after an idle period,
+         * defaults to one second worth of permits.
+         */
+        public int getBurst() {
+            return burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+    }
+}
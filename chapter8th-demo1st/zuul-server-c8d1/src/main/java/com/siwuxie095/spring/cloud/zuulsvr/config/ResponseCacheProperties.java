@@ -0,0 +1,77 @@
+package com.siwuxie095.spring.cloud.zuulsvr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of the gateway response cache. Only the services listed under
+ * gateway.cache.routes are cached, each with its own TTL in milliseconds:
+ *
+ * <pre>
+ * gateway.cache.enabled: true
+ * gateway.cache.routes.organizationservice: 60000
+ * </pre>
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 15:04:12
+ */
+@SuppressWarnings("all")
+@Component
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private long maxBytes = 64L * 1024 * 1024;
+    private int maxEntryBytes = 256 * 1024;
+    private List<String> varyHeaders = new ArrayList<>(Arrays.asList("tmx-org-id"));
+    private Map<String, Long> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(int maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public List<String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    public void setVaryHeaders(List<String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
+    public Map<String, Long> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Long> routes) {
+        this.routes = routes;
+    }
+
+    public Long getTtl(String serviceId) {
+        return routes.get(serviceId);
+    }
+}
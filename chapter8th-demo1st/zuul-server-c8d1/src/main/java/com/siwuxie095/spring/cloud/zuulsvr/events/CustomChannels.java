@@ -0,0 +1,14 @@
+package com.siwuxie095.spring.cloud.zuulsvr.events;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.messaging.SubscribableChannel;
+
+/**
+ * @author Jiajing Li
+ * @date 2026-10-18 15:55:12
+ */
+@SuppressWarnings("all")
+public interface CustomChannels {
+    @Input("inboundOrgChanges")
+    SubscribableChannel orgs();
+}
@@ -0,0 +1,47 @@
+package com.siwuxie095.spring.cloud.zuulsvr.events.handlers;
+
+import com.siwuxie095.spring.cloud.zuulsvr.cache.ResponseCache;
+import com.siwuxie095.spring.cloud.zuulsvr.events.CustomChannels;
+import com.siwuxie095.spring.cloud.zuulsvr.events.models.OrganizationChangeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.annotation.EnableBinding;
+import org.springframework.cloud.stream.annotation.StreamListener;
+
+/**
+ * Drops the cached gateway responses of an organization when the
+ * organization service publishes an UPDATE or DELETE for it.
+ *
+ * Every gateway instance has its own cache, so inboundOrgChanges has no
+ * consumer group and each instance receives every change.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 15:56:27
+ */
+@SuppressWarnings("all")
+@EnableBinding(CustomChannels.class)
+@ConditionalOnProperty(name = "gateway.cache.enabled", havingValue = "true")
+public class OrganizationChangeHandler {
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationChangeHandler.class);
+
+    @StreamListener("inboundOrgChanges")
+    public void loggerSink(OrganizationChangeModel orgChange) {
+        switch(orgChange.getAction()){
+            case "UPDATE":
+            case "DELETE":
+                logger.debug("Received a {} event from the organization service for organization id {}, evicting cached responses",
+                        orgChange.getAction(), orgChange.getOrganizationId());
+                responseCache.evictOrganization(orgChange.getOrganizationId());
+                break;
+            default:
+                break;
+        }
+    }
+
+}
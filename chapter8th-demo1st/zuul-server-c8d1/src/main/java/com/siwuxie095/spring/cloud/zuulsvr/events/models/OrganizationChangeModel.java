@@ -0,0 +1,68 @@
+package com.siwuxie095.spring.cloud.zuulsvr.events.models;
+
+/**
+ * @author Jiajing Li
+ * @date 2026-10-18 15:55:40
+ */
+@SuppressWarnings("all")
+public class OrganizationChangeModel{
+    private String type;
+    private String action;
+    private String organizationId;
+    private String correlationId;
+
+    public OrganizationChangeModel(){
+        super();
+    }
+
+    public  OrganizationChangeModel(String type, String action, String organizationId, String correlationId) {
+        super();
+        this.type   = type;
+        this.action = action;
+        this.organizationId = organizationId;
+        this.correlationId = correlationId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+
+    public String getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(String organizationId) {
+        this.organizationId = organizationId;
+    }
+
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    @Override
+    public String toString() {
+        return "OrganizationChangeModel [type=" + type +
+                ", action=" + action +
+                ", orgId="  + organizationId +
+                ", correlationId=" + correlationId + "]";
+    }
+}
+
@@ -0,0 +1,71 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.bulkhead.BulkheadRegistry;
+import com.siwuxie095.spring.cloud.zuulsvr.bulkhead.RouteBulkhead;
+import com.siwuxie095.spring.cloud.zuulsvr.config.BulkheadProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes a slot in the bulkhead of the route before it is forwarded, so a
+ * slow service can only tie up its own share of the servlet threads and
+ * connections. A request that gets no slot is rejected with 503.
+ *
+ * Runs last among the pre filters, after the admission checks of
+ * {@link RateLimitFilter}.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:39:52
+ */
+@SuppressWarnings("all")
+@Component
+public class BulkheadFilter extends ZuulFilter {
+    public static final String BULKHEAD_PERMIT = "bulkheadPermit";
+    private static final int FILTER_ORDER = 9;
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    BulkheadProperties properties;
+
+    @Autowired
+    BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return properties.isEnabled() && RequestContext.getCurrentContext().sendZuulResponse();
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String serviceId = filterUtils.getServiceId();
+
+        RouteBulkhead.Permit permit = bulkheadRegistry.getBulkhead(serviceId).tryAcquire();
+        if (permit == null) {
+            logger.debug("Rejecting request to {}, its bulkhead is full.", serviceId);
+            ctx.setSendZuulResponse(false);
+            ctx.setResponseStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return null;
+        }
+        ctx.set(BULKHEAD_PERMIT, permit);
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.bulkhead.RouteBulkhead;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+/**
+ * Gives back the bulkhead slot taken by {@link BulkheadFilter}. Runs first
+ * among the post filters, so a failing post filter cannot leak a slot.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:42:15
+ */
+@SuppressWarnings("all")
+@Component
+public class BulkheadReleaseFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 0;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return RequestContext.getCurrentContext().get(BulkheadFilter.BULKHEAD_PERMIT) != null;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        RouteBulkhead.Permit permit = (RouteBulkhead.Permit) ctx.get(BulkheadFilter.BULKHEAD_PERMIT);
+
+        if (ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED)) {
+            // Still in flight, release when the async request ends, whether it completes or times out.
+            ctx.getRequest().getAsyncContext().addListener(new ReleaseListener(permit));
+            return null;
+        }
+        permit.release();
+        return null;
+    }
+
+    private static class ReleaseListener implements AsyncListener {
+        private final RouteBulkhead.Permit permit;
+
+        ReleaseListener(RouteBulkhead.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
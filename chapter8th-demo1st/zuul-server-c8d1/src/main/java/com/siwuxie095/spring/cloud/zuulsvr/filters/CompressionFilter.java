@@ -0,0 +1,153 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.util.HTTPRequestUtils;
+import com.siwuxie095.spring.cloud.zuulsvr.config.CompressionProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import com.siwuxie095.spring.cloud.zuulsvr.http.BufferPool;
+import com.siwuxie095.spring.cloud.zuulsvr.http.DeflaterPool;
+import com.siwuxie095.spring.cloud.zuulsvr.http.GzipCompressingInputStream;
+import com.siwuxie095.spring.cloud.zuulsvr.metrics.CompressionMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Gzip compresses upstream responses for clients that accept it. Runs after
+ * the cache and coalescing post filters, which keep working on the plain
+ * body, and right before the filters that write the response.
+ *
+ * A response without a Content-Length has its first min-size bytes read
+ * ahead to decide whether it is worth compressing, the rest is compressed
+ * as it streams through.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:31:26
+ */
+@SuppressWarnings("all")
+@Component
+public class CompressionFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 998;
+    private static final String ORIGIN_CONTENT_LENGTH = "originContentLength";
+
+    @Autowired
+    CompressionProperties properties;
+
+    @Autowired
+    DeflaterPool deflaterPool;
+
+    @Autowired
+    BufferPool bufferPool;
+
+    @Autowired
+    CompressionMetrics compressionMetrics;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        if (!properties.isEnabled()
+                || ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED)
+                || ctx.getResponseDataStream() == null
+                || ctx.getResponseGZipped()
+                || "HEAD".equalsIgnoreCase(ctx.getRequest().getMethod())) {
+            return false;
+        }
+
+        int status = ctx.getResponseStatusCode();
+        return status != HttpStatus.NO_CONTENT.value()
+                && status != HttpStatus.NOT_MODIFIED.value()
+                && HTTPRequestUtils.getInstance().isGzipped(ctx.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING))
+                && findHeader(ctx, HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        if (!properties.isCompressible(findHeader(ctx, HttpHeaders.CONTENT_TYPE))) {
+            compressionMetrics.recordSkippedType();
+            return null;
+        }
+
+        Long contentLength = ctx.getOriginContentLength();
+        InputStream body = ctx.getResponseDataStream();
+        if (contentLength != null && contentLength < properties.getMinSize()) {
+            compressionMetrics.recordSkippedSize();
+            return null;
+        }
+        if (contentLength == null) {
+            try {
+                body = readAhead(ctx, body);
+            }
+            catch (IOException ex) {
+                ReflectionUtils.rethrowRuntimeException(ex);
+            }
+            if (body == null) {
+                compressionMetrics.recordSkippedSize();
+                return null;
+            }
+        }
+
+        ctx.setResponseDataStream(new GzipCompressingInputStream(body, deflaterPool, bufferPool, compressionMetrics));
+        ctx.setResponseGZipped(true);
+        // The compressed length is not known up front, the response goes out chunked.
+        ctx.remove(ORIGIN_CONTENT_LENGTH);
+        ctx.addZuulResponseHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return null;
+    }
+
+    /**
+     * Reads up to min-size bytes of a body of unknown length. Returns the
+     * whole body again when it reaches the threshold, otherwise puts the
+     * short body back on the context uncompressed and returns null.
+     */
+    private InputStream readAhead(RequestContext ctx, InputStream body) throws IOException {
+        byte[] head = new byte[properties.getMinSize()];
+        int length = 0;
+        int read;
+        while (length < head.length && (read = body.read(head, length, head.length - length)) != -1) {
+            length += read;
+        }
+
+        InputStream headStream = new ByteArrayInputStream(head, 0, length);
+        if (length < head.length) {
+            body.close();
+            ctx.setResponseDataStream(headStream);
+            ctx.setOriginContentLength((long) length);
+            return null;
+        }
+        return new SequenceInputStream(headStream, body);
+    }
+
+    private String findHeader(RequestContext ctx, String name) {
+        for (Pair<String, String> header : ctx.getZuulResponseHeaders()) {
+            if (header.first().equalsIgnoreCase(name)) {
+                return header.second();
+            }
+        }
+        for (Pair<String, String> header : ctx.getOriginResponseHeaders()) {
+            if (header.first().equalsIgnoreCase(name)) {
+                return header.second();
+            }
+        }
+        return null;
+    }
+}
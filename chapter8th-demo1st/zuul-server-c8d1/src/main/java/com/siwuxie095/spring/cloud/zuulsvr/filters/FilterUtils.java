@@ -20,64 +20,41 @@ public class FilterUtils {
 
 
     public String getCorrelationId(){
-        RequestContext ctx = RequestContext.getCurrentContext();
-
-        if (ctx.getRequest().getHeader(CORRELATION_ID) !=null) {
-            return ctx.getRequest().getHeader(CORRELATION_ID);
-        }
-        else{
-            return  ctx.getZuulRequestHeaders().get(CORRELATION_ID);
-        }
+        return GatewayContext.current().getCorrelationId();
     }
 
     public void setCorrelationId(String correlationId){
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(CORRELATION_ID, correlationId);
+        GatewayContext.from(ctx).setCorrelationId(correlationId);
     }
 
     public  final String getOrgId(){
-        RequestContext ctx = RequestContext.getCurrentContext();
-        if (ctx.getRequest().getHeader(ORG_ID) !=null) {
-            return ctx.getRequest().getHeader(ORG_ID);
-        }
-        else{
-            return  ctx.getZuulRequestHeaders().get(ORG_ID);
-        }
+        return GatewayContext.current().getOrgId();
     }
 
     public void setOrgId(String orgId){
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(ORG_ID,  orgId);
+        GatewayContext.from(ctx).setOrgId(orgId);
     }
 
     public final String getUserId(){
-        RequestContext ctx = RequestContext.getCurrentContext();
-        if (ctx.getRequest().getHeader(USER_ID) !=null) {
-            return ctx.getRequest().getHeader(USER_ID);
-        }
-        else{
-            return  ctx.getZuulRequestHeaders().get(USER_ID);
-        }
+        return GatewayContext.current().getUserId();
     }
 
     public void setUserId(String userId){
         RequestContext ctx = RequestContext.getCurrentContext();
         ctx.addZuulRequestHeader(USER_ID,  userId);
+        GatewayContext.from(ctx).setUserId(userId);
     }
 
     public final String getAuthToken(){
-        RequestContext ctx = RequestContext.getCurrentContext();
-        return ctx.getRequest().getHeader(AUTH_TOKEN);
+        return GatewayContext.current().getAuthToken();
     }
 
     public String getServiceId(){
-        RequestContext ctx = RequestContext.getCurrentContext();
-
-        //We might not have a service id if we are using a static, non-eureka route.
-        if (ctx.get("serviceId")==null) {
-            return "";
-        }
-        return ctx.get("serviceId").toString();
+        return GatewayContext.current().getServiceId();
     }
 }
 
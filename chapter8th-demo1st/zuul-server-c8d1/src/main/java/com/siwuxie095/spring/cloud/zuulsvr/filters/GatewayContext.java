@@ -0,0 +1,94 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.context.RequestContext;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * The tmx-* values of one request, read from the incoming headers once and
+ * kept on the RequestContext, so later filters do not look the same headers
+ * up again and again through {@link FilterUtils}.
+ *
+ * Created by {@link TrackingFilter}, the first pre filter. The service id is
+ * only known after PreDecorationFilter, it is picked up on first use after
+ * that.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:47:13
+ */
+@SuppressWarnings("all")
+public class GatewayContext {
+    private static final String GATEWAY_CONTEXT = "gatewayContext";
+
+    private String correlationId;
+    private String orgId;
+    private String userId;
+    private String authToken;
+    private String serviceId;
+
+    private GatewayContext(RequestContext ctx) {
+        HttpServletRequest request = ctx.getRequest();
+        correlationId = header(ctx, request, FilterUtils.CORRELATION_ID);
+        orgId = header(ctx, request, FilterUtils.ORG_ID);
+        userId = header(ctx, request, FilterUtils.USER_ID);
+        authToken = request.getHeader(FilterUtils.AUTH_TOKEN);
+    }
+
+    public static GatewayContext current() {
+        return from(RequestContext.getCurrentContext());
+    }
+
+    public static GatewayContext from(RequestContext ctx) {
+        GatewayContext gatewayContext = (GatewayContext) ctx.get(GATEWAY_CONTEXT);
+        if (gatewayContext == null) {
+            gatewayContext = new GatewayContext(ctx);
+            ctx.set(GATEWAY_CONTEXT, gatewayContext);
+        }
+        return gatewayContext;
+    }
+
+    private static String header(RequestContext ctx, HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value != null ? value : ctx.getZuulRequestHeaders().get(name);
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    public String getOrgId() {
+        return orgId;
+    }
+
+    void setOrgId(String orgId) {
+        this.orgId = orgId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getAuthToken() {
+        return authToken;
+    }
+
+    public String getServiceId() {
+        if (serviceId == null) {
+            Object value = RequestContext.getCurrentContext().get("serviceId");
+            if (value == null) {
+                //We might not have a service id if we are using a static, non-eureka route.
+                return "";
+            }
+            serviceId = value.toString();
+        }
+        return serviceId;
+    }
+}
@@ -0,0 +1,339 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.config.HedgingProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.http.HedgeBudget;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.InstanceLoadStats;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.OutlierDetector;
+import com.siwuxie095.spring.cloud.zuulsvr.metrics.LatencyHistogram;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.netflix.zuul.filters.ProxyRequestHelper;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedged GETs for the services listed under gateway.hedging.routes.
+ *
+ * The request goes to one instance. When it has not answered within the
+ * configured percentile of the latency of this filter's own upstream
+ * attempts, the same request is sent to a different instance. The first
+ * response that is not a 5xx wins and the other request is cancelled.
+ * Hedges are capped by a per-route {@link HedgeBudget}. Every attempt is
+ * recorded in {@link InstanceLoadStats}, like Ribbon routed calls.
+ *
+ * Runs just before the Ribbon routing filter. When both attempts fail to
+ * connect the request is left to Ribbon, with its retries and Hystrix
+ * fallback. When they run out of time the request is answered with a 504,
+ * another attempt would only add to the load.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:56:31
+ */
+@SuppressWarnings("all")
+@Component
+public class HedgingRouteFilter extends ZuulFilter {
+    public static final String HEDGED = "hedged";
+    private static final int FILTER_ORDER = 9;
+    private static final long DELAY_REFRESH_MILLIS = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(HedgingRouteFilter.class);
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    HedgingProperties properties;
+
+    @Autowired
+    LoadBalancerClient loadBalancerClient;
+
+    @Autowired
+    CloseableHttpAsyncClient specialRoutesAsyncHttpClient;
+
+    @Autowired
+    InstanceLoadStats instanceLoadStats;
+
+    @Autowired
+    CounterService counterService;
+
+    private ProxyRequestHelper helper = new ProxyRequestHelper();
+
+    private final ConcurrentMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public String filterType() {
+        return FilterUtils.ROUTE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        return properties.isEnabled()
+                && ctx.sendZuulResponse()
+                && ctx.getRouteHost() == null
+                && "GET".equals(ctx.getRequest().getMethod())
+                && properties.getRoutes().contains(filterUtils.getServiceId());
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String serviceId = filterUtils.getServiceId();
+        RouteState state = routes.computeIfAbsent(serviceId, key -> new RouteState());
+        state.budget.deposit(properties.getBudgetPercent());
+
+        ServiceInstance first = loadBalancerClient.choose(serviceId);
+        if (first == null) {
+            return null;
+        }
+
+        Header[] headers = convertHeaders(helper.buildZuulRequestHeaders(ctx.getRequest()));
+        long deadline = System.currentTimeMillis() + properties.getTimeout();
+        Attempt primary = send(first, ctx, headers, state);
+        Attempt hedge = null;
+
+        try {
+            HttpResponse response = primary.awaitWithin(delayMillis(serviceId, state));
+            if (response == null) {
+                hedge = sendHedge(serviceId, first, state, ctx, headers);
+                response = firstSuccessful(primary, hedge).get(
+                        Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+
+            Attempt winner = primary;
+            if (hedge != null && response == hedge.result.getNow(null)) {
+                counterService.increment("gateway.hedging.won");
+                winner = hedge;
+            }
+            ctx.set(OutlierDetector.ROUTED_INSTANCE, OutlierDetector.instanceKey(winner.instance.getHost(), winner.instance.getPort()));
+            helper.setResponse(response.getStatusLine().getStatusCode(),
+                    response.getEntity() == null ? null : response.getEntity().getContent(),
+                    revertHeaders(response.getAllHeaders()));
+            // Answered here, the Ribbon routing filter must not route again.
+            ctx.setSendZuulResponse(false);
+            ctx.set(HEDGED, true);
+        }
+        catch (TimeoutException ex) {
+            logger.debug("Hedged request to {} timed out after {} ms", serviceId, properties.getTimeout());
+            counterService.increment("gateway.hedging.timeout");
+            ctx.setSendZuulResponse(false);
+            ctx.setResponseStatusCode(HttpStatus.GATEWAY_TIMEOUT.value());
+        }
+        catch (Exception ex) {
+            logger.debug("Hedged request to {} failed, leaving it to Ribbon. Exception {}", serviceId, ex.getMessage());
+            counterService.increment("gateway.hedging.fallback");
+        }
+        finally {
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+        return null;
+    }
+
+    private Attempt sendHedge(String serviceId, ServiceInstance first, RouteState state,
+                              RequestContext ctx, Header[] headers) {
+        ServiceInstance second = chooseOther(serviceId, first);
+        if (second == null) {
+            return null;
+        }
+        if (!state.budget.tryWithdraw()) {
+            counterService.increment("gateway.hedging.budget.exhausted");
+            return null;
+        }
+        counterService.increment("gateway.hedging.sent");
+        return send(second, ctx, headers, state);
+    }
+
+    private ServiceInstance chooseOther(String serviceId, ServiceInstance first) {
+        for (int i = 0; i < 3; i++) {
+            ServiceInstance instance = loadBalancerClient.choose(serviceId);
+            if (instance != null && !(instance.getHost().equals(first.getHost()) && instance.getPort() == first.getPort())) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    private long delayMillis(String serviceId, RouteState state) {
+        long now = System.currentTimeMillis();
+        if (now - state.delayComputedAt < DELAY_REFRESH_MILLIS) {
+            return state.delayMillis;
+        }
+
+        long delay = properties.getDefaultDelay();
+        // Only the attempts made here, the route's upstream histogram also sees requests the gateway answered itself.
+        if (state.attempts.count() >= properties.getMinSamples()) {
+            delay = Math.max(properties.getMinDelay(), state.attempts.percentileMicros(properties.getPercentile()) / 1000);
+        }
+        state.delayMillis = delay;
+        state.delayComputedAt = now;
+        return delay;
+    }
+
+    private Attempt send(ServiceInstance instance, RequestContext ctx, Header[] headers, RouteState state) {
+        HttpServletRequest request = ctx.getRequest();
+        StringBuilder uri = new StringBuilder(instance.getUri().toString())
+                .append(ctx.get("requestURI"));
+        if (request.getQueryString() != null) {
+            uri.append('?').append(request.getQueryString());
+        }
+
+        HttpGet httpGet = new HttpGet(uri.toString());
+        httpGet.setHeaders(headers);
+        HttpHost httpHost = new HttpHost(instance.getHost(), instance.getPort(), instance.isSecure() ? "https" : "http");
+
+        InstanceLoadStats.Instance stats = instanceLoadStats.instance(instance.getHost(), instance.getPort());
+        stats.start();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        Future<HttpResponse> future = specialRoutesAsyncHttpClient.execute(httpHost, httpGet, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                long latency = System.nanoTime() - start;
+                state.attempts.record(latency);
+                stats.complete(latency, isServerError(response));
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                stats.complete(System.nanoTime() - start, true);
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                // The loser of a hedge, it took at least this long.
+                stats.complete(System.nanoTime() - start, false);
+                result.cancel(false);
+            }
+        });
+        return new Attempt(instance, future, result);
+    }
+
+    private CompletableFuture<HttpResponse> firstSuccessful(Attempt primary, Attempt hedge) {
+        if (hedge == null) {
+            return primary.result;
+        }
+
+        CompletableFuture<HttpResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<HttpResponse> serverError = new AtomicReference<>();
+        primary.result.whenComplete((response, ex) -> settle(winner, failures, serverError, response, ex));
+        hedge.result.whenComplete((response, ex) -> settle(winner, failures, serverError, response, ex));
+        return winner;
+    }
+
+    /**
+     * A 5xx only wins when the other attempt has failed too, a fast error
+     * from a failing instance must not beat a slower good answer.
+     */
+    private void settle(CompletableFuture<HttpResponse> winner, AtomicInteger failures,
+                        AtomicReference<HttpResponse> serverError, HttpResponse response, Throwable ex) {
+        if (ex == null && !isServerError(response)) {
+            winner.complete(response);
+            return;
+        }
+        if (ex == null) {
+            serverError.set(response);
+        }
+        if (failures.incrementAndGet() == 2) {
+            if (serverError.get() != null) {
+                winner.complete(serverError.get());
+            }
+            else {
+                winner.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private boolean isServerError(HttpResponse response) {
+        return response.getStatusLine().getStatusCode() >= 500;
+    }
+
+    private Header[] convertHeaders(MultiValueMap<String, String> headers) {
+        List<Header> list = new ArrayList<>();
+        for (String name : headers.keySet()) {
+            for (String value : headers.get(name)) {
+                list.add(new BasicHeader(name, value));
+            }
+        }
+        return list.toArray(new BasicHeader[0]);
+    }
+
+    private MultiValueMap<String, String> revertHeaders(Header[] headers) {
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<String, String>();
+        for (Header header : headers) {
+            map.add(header.getName(), header.getValue());
+        }
+        return map;
+    }
+
+    private static class Attempt {
+        private final ServiceInstance instance;
+        private final Future<HttpResponse> future;
+        private final CompletableFuture<HttpResponse> result;
+
+        Attempt(ServiceInstance instance, Future<HttpResponse> future, CompletableFuture<HttpResponse> result) {
+            this.instance = instance;
+            this.future = future;
+            this.result = result;
+        }
+
+        /**
+         * The response if it arrives within the delay, null if it has not.
+         */
+        HttpResponse awaitWithin(long delayMillis) throws Exception {
+            try {
+                return result.get(delayMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException ex) {
+                return null;
+            }
+        }
+
+        void cancel() {
+            future.cancel(true);
+        }
+    }
+
+    private static class RouteState {
+        final HedgeBudget budget = new HedgeBudget();
+        final LatencyHistogram attempts = new LatencyHistogram();
+        volatile long delayMillis;
+        volatile long delayComputedAt;
+    }
+}
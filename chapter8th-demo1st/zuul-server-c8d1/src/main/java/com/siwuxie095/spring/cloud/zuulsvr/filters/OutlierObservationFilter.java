@@ -0,0 +1,54 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.OutlierDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the outcome of every routed request to the {@link OutlierDetector},
+ * for the instance recorded under {@link OutlierDetector#ROUTED_INSTANCE}
+ * by the load balancer rule or the special routes filter.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:59:04
+ */
+@SuppressWarnings("all")
+@Component
+public class OutlierObservationFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 0;
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    OutlierDetector outlierDetector;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        return ctx.get(OutlierDetector.ROUTED_INSTANCE) != null
+                && !ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED);
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        // A timeout or connection failure leaves a throwable instead of an upstream status.
+        boolean failed = ctx.getThrowable() != null || ctx.getResponseStatusCode() >= 500;
+        outlierDetector.record(filterUtils.getServiceId(), (String) ctx.get(OutlierDetector.ROUTED_INSTANCE), failed);
+        return null;
+    }
+}
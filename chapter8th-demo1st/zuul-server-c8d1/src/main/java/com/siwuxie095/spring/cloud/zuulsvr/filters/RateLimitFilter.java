@@ -0,0 +1,108 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.config.RateLimitProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.ratelimit.InFlightLimiter;
+import com.siwuxie095.spring.cloud.zuulsvr.ratelimit.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control per tenant (tmx-org-id) and per route. A request is
+ * rejected with 429 and a Retry-After header when either its tenant or its
+ * route is over its rate, or already has max-in-flight requests running.
+ *
+ * Runs after the route is resolved and after the response cache and request
+ * coalescing, so requests answered without an upstream call are not counted.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:27:04
+ */
+@SuppressWarnings("all")
+@Component
+public class RateLimitFilter extends ZuulFilter {
+    public static final String RATE_LIMIT_PERMIT = "rateLimitPermit";
+    private static final int FILTER_ORDER = 8;
+    private static final String ANONYMOUS = "anonymous";
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    RateLimitProperties properties;
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    InFlightLimiter inFlightLimiter;
+
+    @Autowired
+    CounterService counterService;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return properties.isEnabled() && RequestContext.getCurrentContext().sendZuulResponse();
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String tenant = filterUtils.getOrgId() != null ? filterUtils.getOrgId() : ANONYMOUS;
+        String serviceId = filterUtils.getServiceId();
+        RateLimitProperties.Limit tenantLimit = properties.getTenantLimit(tenant);
+        RateLimitProperties.Limit routeLimit = properties.getRouteLimit(serviceId);
+
+        long waitMillis = acquireRate("tenant:" + tenant, tenantLimit);
+        if (waitMillis == 0) {
+            waitMillis = acquireRate("route:" + serviceId, routeLimit);
+        }
+        if (waitMillis > 0) {
+            reject(ctx, "rate", tenant, serviceId, waitMillis);
+            return null;
+        }
+
+        InFlightLimiter.Permit permit = inFlightLimiter.new Permit();
+        if (!inFlightLimiter.tryAcquire(permit, "tenant:" + tenant, tenantLimit.getMaxInFlight())
+                || (routeLimit != null && !inFlightLimiter.tryAcquire(permit, "route:" + serviceId, routeLimit.getMaxInFlight()))) {
+            permit.release();
+            reject(ctx, "inflight", tenant, serviceId, 1000);
+            return null;
+        }
+        ctx.set(RATE_LIMIT_PERMIT, permit);
+        return null;
+    }
+
+    private long acquireRate(String key, RateLimitProperties.Limit limit) {
+        if (limit == null || limit.getPermitsPerSecond() <= 0) {
+            return 0;
+        }
+        return rateLimiter.tryAcquire(key, limit.getPermitsPerSecond(), limit.getBurst());
+    }
+
+    private void reject(RequestContext ctx, String reason, String tenant, String serviceId, long waitMillis) {
+        logger.debug("Rejecting request of tenant {} to {}, over its {} limit.", tenant, serviceId, reason);
+        counterService.increment("gateway.ratelimit.rejected." + reason);
+
+        ctx.setSendZuulResponse(false);
+        ctx.setResponseStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        ctx.addZuulResponseHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+    }
+}
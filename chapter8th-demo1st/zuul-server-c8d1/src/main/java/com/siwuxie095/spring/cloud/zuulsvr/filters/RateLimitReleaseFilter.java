@@ -0,0 +1,79 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import com.siwuxie095.spring.cloud.zuulsvr.ratelimit.InFlightLimiter;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+/**
+ * Gives back the in-flight slots taken by {@link RateLimitFilter}. Runs
+ * first among the post filters, so a failing post filter cannot leak a slot.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:33:18
+ */
+@SuppressWarnings("all")
+@Component
+public class RateLimitReleaseFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 0;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return RequestContext.getCurrentContext().get(RateLimitFilter.RATE_LIMIT_PERMIT) != null;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        InFlightLimiter.Permit permit = (InFlightLimiter.Permit) ctx.get(RateLimitFilter.RATE_LIMIT_PERMIT);
+
+        if (ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED)) {
+            // Still in flight, release when the async request ends, whether it completes or times out.
+            ctx.getRequest().getAsyncContext().addListener(new ReleaseListener(permit));
+            return null;
+        }
+        permit.release();
+        return null;
+    }
+
+    private static class ReleaseListener implements AsyncListener {
+        private final InFlightLimiter.Permit permit;
+
+        ReleaseListener(InFlightLimiter.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.CachedResponse;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.InFlightRequests;
+import com.siwuxie095.spring.cloud.zuulsvr.config.CoalescingProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Hands the leader's upstream response to the requests waiting on its
+ * flight. Only 2xx and 404 responses with a body of at most
+ * gateway.coalescing.max-body-bytes are shared, otherwise the waiting
+ * requests go upstream themselves.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:29:51
+ */
+@SuppressWarnings("all")
+@Component
+public class RequestCoalescingCompleteFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 901;
+
+    @Autowired
+    InFlightRequests inFlightRequests;
+
+    @Autowired
+    CoalescingProperties properties;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        // An async forward completes the flight once the upstream has answered.
+        RequestContext ctx = RequestContext.getCurrentContext();
+        return ctx.get(RequestCoalescingFilter.COALESCING_FLIGHT) != null
+                && !ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED);
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        InFlightRequests.Flight flight = (InFlightRequests.Flight) ctx.get(RequestCoalescingFilter.COALESCING_FLIGHT);
+
+        CachedResponse shared = null;
+        try {
+            int status = ctx.getResponseStatusCode();
+            if (isShareable(status) && ctx.getThrowable() == null) {
+                byte[] body = ResponseCacheStoreFilter.bufferBody(ctx, properties.getMaxBodyBytes());
+                if (body != null) {
+                    shared = new CachedResponse(flight.getKey(), ctx.getRequest().getRequestURI(),
+                            ctx.getRequest().getQueryString(), status, new ArrayList<>(ctx.getZuulResponseHeaders()),
+                            body, ctx.getResponseGZipped(), null, 0L);
+                }
+            }
+        }
+        finally {
+            inFlightRequests.complete(flight, shared);
+        }
+        return null;
+    }
+
+    private boolean isShareable(int status) {
+        // A 304 answers the leader's own conditional headers, not the waiting requests.
+        return (status >= 200 && status < 300) || status == 404;
+    }
+}
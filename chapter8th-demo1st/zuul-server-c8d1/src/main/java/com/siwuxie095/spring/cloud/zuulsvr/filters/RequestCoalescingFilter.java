@@ -0,0 +1,95 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.CachedResponse;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.InFlightRequests;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.RequestKeyBuilder;
+import com.siwuxie095.spring.cloud.zuulsvr.config.CoalescingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets concurrent identical GETs of the coalesced routes share one upstream
+ * call. The first request goes upstream, the others wait up to
+ * gateway.coalescing.max-wait for its response and fall back to their own
+ * upstream call when it does not come.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 16:21:14
+ */
+@SuppressWarnings("all")
+@Component
+public class RequestCoalescingFilter extends ZuulFilter {
+    public static final String COALESCING_FLIGHT = "coalescingFlight";
+    private static final int FILTER_ORDER = 7;
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    InFlightRequests inFlightRequests;
+
+    @Autowired
+    RequestKeyBuilder requestKeyBuilder;
+
+    @Autowired
+    CoalescingProperties properties;
+
+    @Autowired
+    CounterService counterService;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        // Cache hits and revalidations are already settled by the response cache.
+        return properties.isEnabled()
+                && ctx.sendZuulResponse()
+                && ctx.get(ResponseCacheLookupFilter.CACHE_REVALIDATING) == null
+                && "GET".equals(ctx.getRequest().getMethod())
+                && properties.getRoutes().contains(filterUtils.getServiceId());
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String key = (String) ctx.get(ResponseCacheLookupFilter.CACHE_KEY);
+        if (key == null) {
+            key = requestKeyBuilder.build(ctx.getRequest(), filterUtils.getServiceId());
+        }
+
+        InFlightRequests.Flight flight = inFlightRequests.join(key, properties.getMaxWait(), ctx);
+        if (flight.isLedBy(ctx)) {
+            counterService.increment("gateway.coalescing.leader");
+            ctx.set(COALESCING_FLIGHT, flight);
+            return null;
+        }
+
+        CachedResponse shared = null;
+        try {
+            shared = flight.await();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (shared == null) {
+            counterService.increment("gateway.coalescing.fallback");
+            return null;
+        }
+        counterService.increment("gateway.coalescing.saved");
+        ResponseCacheLookupFilter.serve(ctx, shared);
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.CachedResponse;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.RequestKeyBuilder;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.ResponseCache;
+import com.siwuxie095.spring.cloud.zuulsvr.config.ResponseCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Serves idempotent GETs of the cached routes from the gateway response
+ * cache. A stale entry with an ETag is revalidated with If-None-Match
+ * instead of being refetched.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 15:32:26
+ */
+@SuppressWarnings("all")
+@Component
+public class ResponseCacheLookupFilter extends ZuulFilter {
+    public static final String CACHE_KEY = "responseCacheKey";
+    public static final String CACHE_REVALIDATING = "responseCacheRevalidating";
+    public static final String CACHE_SERVED = "responseCacheServed";
+    private static final int FILTER_ORDER = 6;
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    ResponseCache responseCache;
+
+    @Autowired
+    RequestKeyBuilder requestKeyBuilder;
+
+    @Autowired
+    ResponseCacheProperties properties;
+
+    @Autowired
+    CounterService counterService;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.PRE_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        return properties.isEnabled()
+                && "GET".equals(ctx.getRequest().getMethod())
+                && properties.getTtl(filterUtils.getServiceId()) != null;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String key = requestKeyBuilder.build(ctx.getRequest(), filterUtils.getServiceId());
+        ctx.set(CACHE_KEY, key);
+
+        CachedResponse cached = responseCache.get(key);
+        if (cached == null) {
+            counterService.increment("gateway.cache.miss");
+            return null;
+        }
+
+        if (cached.isFresh(System.currentTimeMillis())) {
+            counterService.increment("gateway.cache.hit");
+            serve(ctx, cached);
+            return null;
+        }
+
+        if (cached.getEtag() != null) {
+            counterService.increment("gateway.cache.revalidate");
+            ctx.addZuulRequestHeader(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+            ctx.set(CACHE_REVALIDATING, cached);
+        }
+        else {
+            counterService.increment("gateway.cache.miss");
+        }
+        return null;
+    }
+
+    public static void serve(RequestContext ctx, CachedResponse cached) {
+        ctx.setSendZuulResponse(false);
+        ctx.set(CACHE_SERVED, true);
+        ctx.getZuulResponseHeaders().clear();
+
+        if (cached.getEtag() != null && cached.getEtag().equals(ctx.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            ctx.setResponseStatusCode(HttpStatus.NOT_MODIFIED.value());
+            ctx.addZuulResponseHeader(HttpHeaders.ETAG, cached.getEtag());
+            ctx.setResponseDataStream(null);
+            return;
+        }
+
+        ctx.setResponseStatusCode(cached.getStatus());
+        for (Pair<String, String> header : cached.getHeaders()) {
+            ctx.addZuulResponseHeader(header.first(), header.second());
+        }
+        ctx.setResponseGZipped(cached.isGzipped());
+        ctx.setResponseDataStream(new ByteArrayInputStream(cached.getBody()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.CachedResponse;
+import com.siwuxie095.spring.cloud.zuulsvr.cache.ResponseCache;
+import com.siwuxie095.spring.cloud.zuulsvr.config.ResponseCacheProperties;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores cacheable upstream responses in the gateway response cache, and
+ * answers a 304 to a revalidation with the cached body.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 15:47:55
+ */
+@SuppressWarnings("all")
+@Component
+public class ResponseCacheStoreFilter extends ZuulFilter {
+    private static final int FILTER_ORDER = 900;
+
+    @Autowired
+    ResponseCache responseCache;
+
+    @Autowired
+    ResponseCacheProperties properties;
+
+    @Autowired
+    FilterUtils filterUtils;
+
+    @Autowired
+    CounterService counterService;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        // Routing filters that answer themselves also turn sendZuulResponse off, so check for cache served responses.
+        return ctx.get(ResponseCacheLookupFilter.CACHE_KEY) != null
+                && !ctx.getBoolean(ResponseCacheLookupFilter.CACHE_SERVED)
+                && !ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED);
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        String key = (String) ctx.get(ResponseCacheLookupFilter.CACHE_KEY);
+        // Null when a refresh removed the route from gateway.cache.routes while the request was under way.
+        Long ttl = properties.getTtl(filterUtils.getServiceId());
+        int status = ctx.getResponseStatusCode();
+
+        CachedResponse revalidating = (CachedResponse) ctx.get(ResponseCacheLookupFilter.CACHE_REVALIDATING);
+        if (status == HttpStatus.NOT_MODIFIED.value() && revalidating != null) {
+            // The client may not hold the body itself, so it is answered from the cache either way.
+            CachedResponse renewed = revalidating;
+            if (ttl != null) {
+                renewed = revalidating.renew(System.currentTimeMillis() + ttl);
+                responseCache.put(renewed);
+            }
+            closeQuietly(ctx.getResponseDataStream());
+            ResponseCacheLookupFilter.serve(ctx, renewed);
+            return null;
+        }
+
+        InputStream upstream = ctx.getResponseDataStream();
+        if (ttl == null || status != HttpStatus.OK.value() || upstream == null || !isStorable(ctx)) {
+            return null;
+        }
+
+        byte[] bytes = bufferBody(ctx, properties.getMaxEntryBytes());
+        if (bytes == null) {
+            return null;
+        }
+        responseCache.put(new CachedResponse(key, ctx.getRequest().getRequestURI(), ctx.getRequest().getQueryString(),
+                status, new ArrayList<>(ctx.getZuulResponseHeaders()), bytes, ctx.getResponseGZipped(),
+                findOriginHeader(ctx, HttpHeaders.ETAG), System.currentTimeMillis() + ttl));
+        counterService.increment("gateway.cache.store");
+        return null;
+    }
+
+    /**
+     * Reads the response body into memory and puts a replayable stream back
+     * into the context. Returns null, with the stream left readable, when the
+     * body is larger than maxBytes.
+     */
+    public static byte[] bufferBody(RequestContext ctx, int maxBytes) {
+        InputStream upstream = ctx.getResponseDataStream();
+        if (upstream == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = upstream.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > maxBytes) {
+                    // Too big, hand the bytes read so far plus the rest of the stream on.
+                    ctx.setResponseDataStream(new SequenceInputStream(
+                            new ByteArrayInputStream(body.toByteArray()), upstream));
+                    return null;
+                }
+            }
+            upstream.close();
+
+            byte[] bytes = body.toByteArray();
+            ctx.setResponseDataStream(new ByteArrayInputStream(bytes));
+            return bytes;
+        }
+        catch (IOException ex) {
+            ReflectionUtils.rethrowRuntimeException(ex);
+            return null;
+        }
+    }
+
+    private boolean isStorable(RequestContext ctx) {
+        String cacheControl = findOriginHeader(ctx, HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private String findOriginHeader(RequestContext ctx, String name) {
+        List<Pair<String, String>> headers = ctx.getOriginResponseHeaders();
+        for (Pair<String, String> header : headers) {
+            if (header.first().equalsIgnoreCase(name)) {
+                return header.second();
+            }
+        }
+        return null;
+    }
+
+    private void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        }
+        catch (IOException ex) {}
+    }
+}
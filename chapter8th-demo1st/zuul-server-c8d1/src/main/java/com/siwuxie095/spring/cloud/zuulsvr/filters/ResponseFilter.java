@@ -2,6 +2,8 @@ package com.siwuxie095.spring.cloud.zuulsvr.filters;
 
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import com.siwuxie095.spring.cloud.zuulsvr.metrics.VariantMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,9 @@ public class ResponseFilter extends ZuulFilter {
     @Autowired
     FilterUtils filterUtils;
 
+    @Autowired
+    VariantMetrics variantMetrics;
+
     @Override
     public String filterType() {
         return FilterUtils.POST_FILTER_TYPE;
@@ -33,7 +38,8 @@ public class ResponseFilter extends ZuulFilter {
 
     @Override
     public boolean shouldFilter() {
-        return SHOULD_FILTER;
+        // Async forwarded requests run the post filters again once the upstream has answered.
+        return SHOULD_FILTER && !RequestContext.getCurrentContext().getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED);
     }
 
     @Override
@@ -42,6 +48,7 @@ public class ResponseFilter extends ZuulFilter {
 
         logger.debug("Adding the correlation id to the outbound headers.");
         ctx.getResponse().addHeader(FilterUtils.CORRELATION_ID, filterUtils.getCorrelationId());
+        variantMetrics.complete(ctx);
 
         logger.debug("Completing outgoing request for {}.", ctx.getRequest().getRequestURI());
 
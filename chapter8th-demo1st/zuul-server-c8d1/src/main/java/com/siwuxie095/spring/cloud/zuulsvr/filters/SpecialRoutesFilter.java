@@ -2,8 +2,17 @@ package com.siwuxie095.spring.cloud.zuulsvr.filters;
 
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
-import com.siwuxie095.spring.cloud.zuulsvr.model.AbTestingRoute;
+import com.siwuxie095.spring.cloud.zuulsvr.bulkhead.BulkheadRegistry;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+import com.siwuxie095.spring.cloud.zuulsvr.http.BufferPool;
+import com.siwuxie095.spring.cloud.zuulsvr.http.StreamingRequestEntity;
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.OutlierDetector;
+import com.siwuxie095.spring.cloud.zuulsvr.metrics.VariantMetrics;
+import com.siwuxie095.spring.cloud.zuulsvr.routes.AbTestingRouteCache;
+import com.siwuxie095.spring.cloud.zuulsvr.routes.RoutePrefixMatcher;
+import com.siwuxie095.spring.cloud.zuulsvr.routes.TrafficSplit;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
@@ -11,31 +20,27 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicHttpRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.netflix.zuul.filters.ProxyRequestHelper;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * @author Jiajing Li
@@ -51,7 +56,34 @@ public class SpecialRoutesFilter extends ZuulFilter {
     FilterUtils filterUtils;
 
     @Autowired
-    RestTemplate restTemplate;
+    AbTestingRouteCache abTestingRouteCache;
+
+    @Autowired
+    RoutePrefixMatcher routePrefixMatcher;
+
+    @Autowired
+    VariantMetrics variantMetrics;
+
+    @Autowired
+    CloseableHttpClient specialRoutesHttpClient;
+
+    @Autowired
+    BufferPool bufferPool;
+
+    @Autowired
+    AsyncRouteForwarder asyncRouteForwarder;
+
+    @Autowired
+    OutlierDetector outlierDetector;
+
+    @Autowired
+    BulkheadRegistry bulkheadRegistry;
+
+    @Value("${specialroutes.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${specialroutes.async.enabled:false}")
+    private boolean asyncEnabled;
 
     @Override
     public String filterType() {
@@ -65,36 +97,11 @@ public class SpecialRoutesFilter extends ZuulFilter {
 
     @Override
     public boolean shouldFilter() {
-        return SHOULD_FILTER;
+        return SHOULD_FILTER && RequestContext.getCurrentContext().sendZuulResponse();
     }
 
     private ProxyRequestHelper helper = new ProxyRequestHelper();
 
-    private AbTestingRoute getAbRoutingInfo(String serviceName){
-        ResponseEntity<AbTestingRoute> restExchange = null;
-        try {
-            restExchange = restTemplate.exchange(
-                    "http://specialroutesservice/v1/route/abtesting/{serviceName}",
-                    HttpMethod.GET,
-                    null, AbTestingRoute.class, serviceName);
-        }
-        catch(HttpClientErrorException ex){
-            if (ex.getStatusCode()== HttpStatus.NOT_FOUND) {
-                return null;
-            }
-            throw ex;
-        }
-        return restExchange.getBody();
-    }
-
-    private String buildRouteString(String oldEndpoint, String newEndpoint, String serviceName){
-        int index = oldEndpoint.indexOf(serviceName);
-
-        String strippedRoute = oldEndpoint.substring(index + serviceName.length());
-        System.out.println("Target route: " + String.format("%s/%s", newEndpoint, strippedRoute));
-        return String.format("%s/%s", newEndpoint, strippedRoute);
-    }
-
     private String getVerb(HttpServletRequest request) {
         String sMethod = request.getMethod();
         return sMethod.toUpperCase();
@@ -146,6 +153,9 @@ public class SpecialRoutesFilter extends ZuulFilter {
     }
 
     private void setResponse(HttpResponse response) throws IOException {
+        if (streamingEnabled) {
+            RequestContext.getCurrentContext().set(StreamingResponseFilter.STREAMING_RESPONSE, true);
+        }
         this.helper.setResponse(response.getStatusLine().getStatusCode(),
                 response.getEntity() == null ? null : response.getEntity().getContent(),
                 revertHeaders(response.getAllHeaders()));
@@ -162,9 +172,11 @@ public class SpecialRoutesFilter extends ZuulFilter {
 
         HttpRequest httpRequest;
         int contentLength = request.getContentLength();
-        InputStreamEntity entity = new InputStreamEntity(requestEntity, contentLength,
-                request.getContentType() != null
-                        ? ContentType.create(request.getContentType()) : null);
+        HttpEntity entity = streamingEnabled
+                ? new StreamingRequestEntity(requestEntity, contentLength, request.getContentType(), bufferPool)
+                : new InputStreamEntity(requestEntity, contentLength,
+                        request.getContentType() != null
+                                ? ContentType.create(request.getContentType()) : null);
         switch (verb.toUpperCase()) {
             case "POST":
                 HttpPost httpPost = new HttpPost(uri);
@@ -197,36 +209,78 @@ public class SpecialRoutesFilter extends ZuulFilter {
 
 
 
-    public boolean useSpecialRoute(AbTestingRoute testRoute){
-        Random random = new Random();
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
 
-        if (testRoute.getActive().equals("N")) {
-            return false;
+        TrafficSplit split = abTestingRouteCache.getSplit( filterUtils.getServiceId() );
+        if (split == null) {
+            return null;
         }
 
-        int value = random.nextInt((10 - 1) + 1) + 1;
+        int variant = split.choose(split.isSticky() ? getStickyKey() : null);
+        String route = null;
+        String instance = null;
+        if (variant != TrafficSplit.DEFAULT_ROUTE) {
+            route = routePrefixMatcher.buildTarget(ctx.getRequest().getRequestURI(),
+                    filterUtils.getServiceId(),
+                    split.getEndpoint(variant));
+            instance = instanceOf(route);
+            // An ejected special route target falls back to the default route.
+            if (outlierDetector.isEjected(filterUtils.getServiceId(), instance)) {
+                variant = TrafficSplit.DEFAULT_ROUTE;
+            }
+        }
+        variantMetrics.start(ctx, split.getVariantName(variant));
 
-        if (testRoute.getWeight()<value) {
-            return true;
+        if (variant != TrafficSplit.DEFAULT_ROUTE) {
+            ctx.set(OutlierDetector.ROUTED_INSTANCE, instance);
+            forwardToSpecialRoute(route);
         }
 
-        return false;
+        return null;
     }
 
-    @Override
-    public Object run() {
-        RequestContext ctx = RequestContext.getCurrentContext();
+    private String instanceOf(String route) {
+        try {
+            URL url = new URL(route);
+            return OutlierDetector.instanceKey(url.getHost(), url.getPort() != -1 ? url.getPort() : url.getDefaultPort());
+        }
+        catch (MalformedURLException ex) {
+            return route;
+        }
+    }
 
-        AbTestingRoute abTestRoute = getAbRoutingInfo( filterUtils.getServiceId() );
+    private String getStickyKey() {
+        String userId = filterUtils.getUserId();
+        return userId != null ? userId : filterUtils.getOrgId();
+    }
 
-        if (abTestRoute!=null && useSpecialRoute(abTestRoute)) {
-            String route = buildRouteString(ctx.getRequest().getRequestURI(),
-                    abTestRoute.getEndpoint(),
-                    ctx.get("serviceId").toString());
-            forwardToSpecialRoute(route);
+    private boolean useAsyncRoute(String verb, HttpServletRequest request) {
+        if (!asyncEnabled || !request.isAsyncSupported()) {
+            return false;
         }
 
-        return null;
+        // Requests with a body keep streaming it on the blocking path.
+        switch (verb) {
+            case "POST":
+            case "PUT":
+            case "PATCH":
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private void forwardAsync(String verb, String route, MultiValueMap<String, String> headers) {
+        try {
+            HttpRequest httpRequest = new BasicHttpRequest(verb, route);
+            httpRequest.setHeaders(convertHeaders(headers));
+            asyncRouteForwarder.forward(getHttpHost(new URL(route)), httpRequest);
+        }
+        catch (Exception ex) {
+            ex.printStackTrace();
+        }
     }
 
     private void forwardToSpecialRoute(String route) {
@@ -244,24 +298,24 @@ public class SpecialRoutesFilter extends ZuulFilter {
         }
 
         this.helper.addIgnoredHeaders();
-        CloseableHttpClient httpClient = null;
+
+        if (useAsyncRoute(verb, request)) {
+            forwardAsync(verb, route, headers);
+            return;
+        }
+
         HttpResponse response = null;
+        // Routes with a dedicated pool in their bulkhead do not compete for the shared connections.
+        CloseableHttpClient httpClient = bulkheadRegistry.getHttpClient(filterUtils.getServiceId());
 
         try {
-            httpClient  = HttpClients.createDefault();
-            response = forward(httpClient, verb, route, request, headers,
+            response = forward(httpClient != null ? httpClient : specialRoutesHttpClient, verb, route, request, headers,
                     params, requestEntity);
             setResponse(response);
         }
         catch (Exception ex ) {
             ex.printStackTrace();
-
-        }
-        finally{
-            try {
-                httpClient.close();
-            }
-            catch(IOException ex){}
+            HttpClientUtils.closeQuietly(response);
         }
     }
 }
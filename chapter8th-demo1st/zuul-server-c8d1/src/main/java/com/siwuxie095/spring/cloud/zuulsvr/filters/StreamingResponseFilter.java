@@ -0,0 +1,89 @@
+package com.siwuxie095.spring.cloud.zuulsvr.filters;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.util.HTTPRequestUtils;
+import com.siwuxie095.spring.cloud.zuulsvr.http.BufferPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Writes special route responses straight from the upstream connection to
+ * the client through a pooled buffer. Runs just ahead of Spring's
+ * SendResponseFilter, which is left with nothing to do for these requests.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 11:05:36
+ */
+@SuppressWarnings("all")
+@Component
+public class StreamingResponseFilter extends ZuulFilter {
+    public static final String STREAMING_RESPONSE = "streamingResponse";
+    private static final int FILTER_ORDER = 999;
+
+    @Autowired
+    BufferPool bufferPool;
+
+    @Override
+    public String filterType() {
+        return FilterUtils.POST_FILTER_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        if (!ctx.getBoolean(STREAMING_RESPONSE) || ctx.getResponseDataStream() == null) {
+            return false;
+        }
+
+        // Gzipped bodies for clients that cannot take gzip are left to SendResponseFilter to inflate.
+        return !ctx.getResponseGZipped()
+                || HTTPRequestUtils.getInstance().isGzipped(ctx.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        HttpServletResponse servletResponse = ctx.getResponse();
+        InputStream upstream = ctx.getResponseDataStream();
+
+        try {
+            servletResponse.setStatus(ctx.getResponseStatusCode());
+            for (Pair<String, String> header : ctx.getZuulResponseHeaders()) {
+                servletResponse.addHeader(header.first(), header.second());
+            }
+            if (ctx.getResponseGZipped()) {
+                servletResponse.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            if (ctx.getOriginContentLength() != null) {
+                servletResponse.setHeader(HttpHeaders.CONTENT_LENGTH, ctx.getOriginContentLength().toString());
+            }
+
+            bufferPool.copy(upstream, servletResponse.getOutputStream());
+        }
+        catch (IOException ex) {
+            ReflectionUtils.rethrowRuntimeException(ex);
+        }
+        finally {
+            try {
+                upstream.close();
+            }
+            catch (IOException ex) {}
+            ctx.setResponseDataStream(null);
+            ctx.getZuulResponseHeaders().clear();
+        }
+        return null;
+    }
+}
@@ -2,6 +2,7 @@ package com.siwuxie095.spring.cloud.zuulsvr.filters;
 
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
+import com.siwuxie095.spring.cloud.zuulsvr.utils.CorrelationIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ public class TrackingFilter extends ZuulFilter {
     @Autowired
     FilterUtils filterUtils;
 
+    @Autowired
+    CorrelationIdGenerator correlationIdGenerator;
+
     @Override
     public String filterType() {
         return FilterUtils.PRE_FILTER_TYPE;
@@ -36,30 +40,26 @@ public class TrackingFilter extends ZuulFilter {
         return SHOULD_FILTER;
     }
 
-    private boolean isCorrelationIdPresent(){
-        if (filterUtils.getCorrelationId() !=null){
-            return true;
-        }
-
-        return false;
-    }
-
     private String generateCorrelationId(){
-        return java.util.UUID.randomUUID().toString();
+        return correlationIdGenerator.next();
     }
 
     @Override
     public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
 
-        if (isCorrelationIdPresent()) {
-            logger.debug("tmx-correlation-id found in tracking filter: %s. ", filterUtils.getCorrelationId());
+        // Reads the tmx-* headers once, every later filter works off this context.
+        GatewayContext.from(ctx);
+        String correlationId = filterUtils.getCorrelationId();
+        if (correlationId != null) {
+            logger.debug("tmx-correlation-id found in tracking filter: {}. ", correlationId);
         }
         else{
-            filterUtils.setCorrelationId(generateCorrelationId());
-            logger.debug("tmx-correlation-id generated in tracking filter: {}.", filterUtils.getCorrelationId());
+            correlationId = generateCorrelationId();
+            filterUtils.setCorrelationId(correlationId);
+            logger.debug("tmx-correlation-id generated in tracking filter: {}.", correlationId);
         }
 
-        RequestContext ctx = RequestContext.getCurrentContext();
         logger.debug("Processing incoming request for {}.",  ctx.getRequest().getRequestURI());
         return null;
     }
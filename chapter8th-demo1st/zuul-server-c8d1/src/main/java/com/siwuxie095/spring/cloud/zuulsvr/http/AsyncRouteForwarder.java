@@ -0,0 +1,173 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import com.netflix.zuul.FilterProcessor;
+import com.netflix.zuul.context.RequestContext;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncMethods;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.zuul.filters.ProxyRequestHelper;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Forwards a routed request on the non-blocking client and releases the
+ * container thread while the upstream call is in flight.
+ *
+ * The request is put into servlet async mode and the rest of the Zuul chain
+ * on the container thread becomes a no-op. When the upstream answers, the
+ * post filters are run against a detached copy of the RequestContext on a
+ * container thread and the async request is completed. That happens as soon
+ * as the upstream headers are in, the body is streamed through a fixed size
+ * buffer as it arrives rather than read into memory first.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 11:52:08
+ */
+@SuppressWarnings("all")
+@Component
+public class AsyncRouteForwarder {
+    public static final String ASYNC_FORWARDED = "asyncForwarded";
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRouteForwarder.class);
+
+    @Autowired
+    CloseableHttpAsyncClient specialRoutesAsyncHttpClient;
+
+    @Value("${specialroutes.async.timeout:15000}")
+    private long timeout;
+
+    @Value("${specialroutes.async.buffer-size:32768}")
+    private int bufferSize;
+
+    private ProxyRequestHelper helper = new ProxyRequestHelper();
+
+    public void forward(HttpHost httpHost, HttpRequest httpRequest) {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        RequestContext asyncCtx = detach(ctx);
+        AsyncContext asyncContext = ctx.getRequest().startAsync();
+        asyncContext.setTimeout(timeout);
+        AtomicBoolean done = new AtomicBoolean();
+
+        Future<HttpResponse> future = specialRoutesAsyncHttpClient.execute(
+                HttpAsyncMethods.create(httpHost, httpRequest),
+                new StreamingResponseConsumer(bufferSize,
+                        response -> asyncContext.start(() -> resume(asyncCtx, asyncContext, done, response))),
+                new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse response) {
+                        // Only still pending for responses without a body, the others were resumed on their headers.
+                        asyncContext.start(() -> resume(asyncCtx, asyncContext, done, response));
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        logger.error("Async forward to {} failed. Exception {}", httpHost, ex.getMessage());
+                        asyncContext.start(() -> resume(asyncCtx, asyncContext, done, null));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                    }
+                });
+        asyncContext.addListener(new TimeoutListener(future, done));
+
+        // The container thread finishes the Zuul chain right away, it must not route or respond again.
+        ctx.set(ASYNC_FORWARDED, true);
+        ctx.setSendZuulResponse(false);
+    }
+
+    private RequestContext detach(RequestContext ctx) {
+        RequestContext asyncCtx = new RequestContext();
+        asyncCtx.putAll(ctx);
+        asyncCtx.remove("zuulResponseHeaders");
+        asyncCtx.remove("originResponseHeaders");
+        return asyncCtx;
+    }
+
+    private void resume(RequestContext asyncCtx, AsyncContext asyncContext, AtomicBoolean done, HttpResponse response) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+
+        // testSetCurrentContext is the only public way to bind an existing context to this thread.
+        RequestContext.testSetCurrentContext(asyncCtx);
+        try {
+            if (response != null) {
+                helper.setResponse(response.getStatusLine().getStatusCode(),
+                        response.getEntity() == null ? null : response.getEntity().getContent(),
+                        revertHeaders(response.getAllHeaders()));
+            }
+            else {
+                asyncCtx.setResponseStatusCode(HttpStatus.BAD_GATEWAY.value());
+            }
+            FilterProcessor.getInstance().postRoute();
+        }
+        catch (Throwable ex) {
+            logger.error("Unable to complete async response for {}. Exception {}", asyncCtx.getRequest().getRequestURI(), ex);
+        }
+        finally {
+            asyncContext.complete();
+            RequestContext.getCurrentContext().unset();
+        }
+    }
+
+    private MultiValueMap<String, String> revertHeaders(Header[] headers) {
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<String, String>();
+        for (Header header : headers) {
+            map.add(header.getName(), header.getValue());
+        }
+        return map;
+    }
+
+    private static class TimeoutListener implements AsyncListener {
+        private final Future<HttpResponse> future;
+        private final AtomicBoolean done;
+
+        TimeoutListener(Future<HttpResponse> future, AtomicBoolean done) {
+            this.future = future;
+            this.done = done;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            future.cancel(true);
+            ((HttpServletResponse) event.getAsyncContext().getResponse()).sendError(HttpStatus.GATEWAY_TIMEOUT.value());
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of copy buffers shared by the streaming proxy paths.
+ *
+ * When the pool is empty a short-lived buffer is handed out instead of
+ * waiting, it is simply not returned to the pool afterwards.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 10:41:27
+ */
+@SuppressWarnings("all")
+@Component
+public class BufferPool {
+
+    @Value("${specialroutes.streaming.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${specialroutes.streaming.max-buffers:256}")
+    private int maxBuffers;
+
+    private BlockingQueue<byte[]> buffers;
+
+    @PostConstruct
+    public void init() {
+        buffers = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Copies the stream through a pooled buffer, flushing whenever the input
+     * has nothing more to hand out without blocking, so chunks are passed
+     * through as they arrive.
+     */
+    public long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = acquire();
+        long total = 0;
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+        finally {
+            release(buffer);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,58 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import com.siwuxie095.spring.cloud.zuulsvr.config.CompressionProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of raw deflaters for response compression. A Deflater holds
+ * native zlib memory, so instances are reset and reused instead of being
+ * left to finalization.
+ *
+ * When the pool is empty a new deflater is handed out, one that does not
+ * fit back into the pool is ended right away.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:15:09
+ */
+@SuppressWarnings("all")
+@Component
+public class DeflaterPool {
+
+    @Autowired
+    private CompressionProperties properties;
+
+    private BlockingQueue<Deflater> deflaters;
+
+    @PostConstruct
+    public void init() {
+        deflaters = new ArrayBlockingQueue<>(properties.getMaxDeflaters());
+    }
+
+    public Deflater acquire() {
+        Deflater deflater = deflaters.poll();
+        // nowrap, the gzip header and trailer are written by GzipCompressingInputStream.
+        return deflater != null ? deflater : new Deflater(properties.getLevel(), true);
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
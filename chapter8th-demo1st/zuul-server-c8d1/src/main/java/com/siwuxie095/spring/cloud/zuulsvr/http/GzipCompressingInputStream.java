@@ -0,0 +1,163 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import com.siwuxie095.spring.cloud.zuulsvr.metrics.CompressionMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip encodes an upstream body while it is being read, one pooled buffer
+ * at a time, so the response never has to be held in memory as a whole.
+ *
+ * Whenever the upstream has nothing more to hand out without blocking the
+ * deflater is sync flushed, so chunked responses still reach the client as
+ * they arrive. The deflater and buffers go back to their pools at the end
+ * of the body or on close, whichever comes first.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:24:51
+ */
+@SuppressWarnings("all")
+public class GzipCompressingInputStream extends InputStream {
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final InputStream source;
+    private final DeflaterPool deflaterPool;
+    private final BufferPool bufferPool;
+    private final CompressionMetrics metrics;
+    private final CRC32 crc = new CRC32();
+
+    private Deflater deflater;
+    private byte[] input;
+    private byte[] output;
+    private int position;
+    private int limit;
+    private boolean headerWritten;
+    private boolean sourceDone;
+    private boolean done;
+    private int flush = Deflater.NO_FLUSH;
+    private long bytesIn;
+    private long bytesOut;
+    private long cpuNanos;
+
+    public GzipCompressingInputStream(InputStream source, DeflaterPool deflaterPool, BufferPool bufferPool,
+                                      CompressionMetrics metrics) {
+        this.source = source;
+        this.deflaterPool = deflaterPool;
+        this.bufferPool = bufferPool;
+        this.metrics = metrics;
+        this.deflater = deflaterPool.acquire();
+        this.input = bufferPool.acquire();
+        this.output = bufferPool.acquire();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (position == limit) {
+            if (done) {
+                return -1;
+            }
+            fill();
+        }
+        int count = Math.min(len, limit - position);
+        System.arraycopy(output, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            source.close();
+        }
+        finally {
+            releaseDeflater();
+            if (output != null) {
+                bufferPool.release(output);
+                output = null;
+            }
+            position = 0;
+            limit = 0;
+            done = true;
+        }
+    }
+
+    private void fill() throws IOException {
+        position = 0;
+        limit = 0;
+        if (!headerWritten) {
+            System.arraycopy(HEADER, 0, output, 0, HEADER.length);
+            limit = HEADER.length;
+            headerWritten = true;
+            return;
+        }
+        if (deflater.finished()) {
+            writeTrailer();
+            return;
+        }
+
+        if (deflater.needsInput() && !sourceDone) {
+            int read = source.read(input);
+            if (read == -1) {
+                sourceDone = true;
+                deflater.finish();
+            }
+            else {
+                crc.update(input, 0, read);
+                deflater.setInput(input, 0, read);
+                bytesIn += read;
+                flush = source.available() == 0 ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+            }
+        }
+
+        long start = CompressionMetrics.cpuTime();
+        limit = deflater.deflate(output, 0, output.length, flush);
+        cpuNanos += CompressionMetrics.cpuTime() - start;
+        bytesOut += limit;
+        if (limit < output.length) {
+            // A flush is only complete once the deflater no longer fills the whole buffer.
+            flush = Deflater.NO_FLUSH;
+        }
+    }
+
+    private void writeTrailer() {
+        int value = (int) crc.getValue();
+        int size = (int) bytesIn;
+        for (int i = 0; i < 4; i++) {
+            output[i] = (byte) (value >> (i * 8));
+            output[i + 4] = (byte) (size >> (i * 8));
+        }
+        limit = 8;
+        bytesOut += HEADER.length + 8;
+        done = true;
+        releaseDeflater();
+        metrics.recordCompressed(bytesIn, bytesOut, cpuNanos);
+    }
+
+    private void releaseDeflater() {
+        if (deflater == null) {
+            return;
+        }
+        deflaterPool.release(deflater);
+        deflater = null;
+        bufferPool.release(input);
+        input = null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedges to a percentage of the requests of a route. Every request
+ * deposits a fraction of a hedge, every hedge withdraws a whole one, so
+ * when the upstream slows down for everyone the hedges stop at the budget
+ * instead of doubling the load.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:45:52
+ */
+@SuppressWarnings("all")
+public class HedgeBudget {
+    private static final long HEDGE_COST = 100;
+    // At most this many hedges can be saved up during quiet periods.
+    private static final long MAX_BALANCE = 10 * HEDGE_COST;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    public void deposit(int percent) {
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(MAX_BALANCE, current + percent);
+            if (current == next || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - HEDGE_COST)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Request entity that pipes the incoming servlet stream straight to the
+ * upstream connection. A negative length sends the body chunked.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 10:48:52
+ */
+@SuppressWarnings("all")
+public class StreamingRequestEntity extends AbstractHttpEntity {
+    private final InputStream content;
+    private final long length;
+    private final BufferPool bufferPool;
+
+    public StreamingRequestEntity(InputStream content, long length, String contentType, BufferPool bufferPool) {
+        this.content = content;
+        this.length = length;
+        this.bufferPool = bufferPool;
+        setContentType(contentType);
+        setChunked(length < 0);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return content;
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        if (content == null) {
+            return;
+        }
+        try {
+            bufferPool.copy(content, outstream);
+        }
+        finally {
+            content.close();
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+}
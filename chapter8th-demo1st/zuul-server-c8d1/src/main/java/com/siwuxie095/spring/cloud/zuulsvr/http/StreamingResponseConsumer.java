@@ -0,0 +1,80 @@
+package com.siwuxie095.spring.cloud.zuulsvr.http;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Hands an upstream response on as soon as its headers are in, with a body
+ * that is read while it still arrives, instead of holding the whole body in
+ * memory first.
+ *
+ * The body goes through one fixed size buffer. When the reader falls
+ * behind, the buffer suspends input on the connection until it has room
+ * again, so a slow client slows the upstream down rather than growing the
+ * gateway's memory.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 23:12:40
+ */
+@SuppressWarnings("all")
+public class StreamingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private final SharedInputBuffer buffer;
+    private final Consumer<HttpResponse> onStreaming;
+    private HttpResponse response;
+
+    /**
+     * onStreaming is called on the I/O thread once the headers of a response
+     * with a body are in, it must not block.
+     */
+    public StreamingResponseConsumer(int bufferSize, Consumer<HttpResponse> onStreaming) {
+        this.buffer = new SharedInputBuffer(bufferSize, HeapByteBufferAllocator.INSTANCE);
+        this.onStreaming = onStreaming;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        BasicHttpEntity streamed = new BasicHttpEntity();
+        streamed.setContentLength(entity.getContentLength());
+        streamed.setContentType(entity.getContentType());
+        streamed.setContentEncoding(entity.getContentEncoding());
+        streamed.setChunked(entity.isChunked());
+        streamed.setContent(new ContentInputStream(buffer));
+        response.setEntity(streamed);
+        onStreaming.accept(response);
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+        buffer.consumeContent(decoder, ioControl);
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        // After a normal end the reader may still be draining the buffer, only an aborted exchange cuts it off.
+        if (getException() != null || getResult() == null) {
+            buffer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.siwuxie095.spring.cloud.zuulsvr.loadbalancer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per instance load seen by this service's load balanced calls: requests
+ * in flight, a peak EWMA of the latency and an EWMA of the error rate.
+ *
+ * The averages decay with time rather than per sample, so an instance that
+ * was slow a minute ago is not still judged by it, however little traffic
+ * it got since.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:14:27
+ */
+@SuppressWarnings("all")
+@Component
+public class InstanceLoadStats {
+    private static final double DECAY_NANOS = 10_000_000_000.0;
+
+    private final ConcurrentMap<String, Instance> instances = new ConcurrentHashMap<>();
+
+    public Instance instance(String host, int port) {
+        String key = host + ":" + port;
+        Instance instance = instances.get(key);
+        if (instance == null) {
+            instance = instances.computeIfAbsent(key, k -> new Instance());
+        }
+        return instance;
+    }
+
+    /**
+     * The stats of an instance, null if no call has been made to it yet.
+     */
+    public Instance find(String host, int port) {
+        return instances.get(host + ":" + port);
+    }
+
+    public static class Instance {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double latencyMillis;
+        private volatile double errorRate;
+        private volatile boolean sampled;
+        private long lastUpdate = System.nanoTime();
+
+        public void start() {
+            inFlight.incrementAndGet();
+        }
+
+        public synchronized void complete(long latencyNanos, boolean error) {
+            inFlight.decrementAndGet();
+
+            long now = System.nanoTime();
+            double weight = Math.exp(-(now - lastUpdate) / DECAY_NANOS);
+            lastUpdate = now;
+
+            double latency = latencyNanos / 1_000_000.0;
+            if (!sampled || latency > latencyMillis) {
+                // Peak EWMA: a slow response counts in full at once, recovery is gradual.
+                latencyMillis = latency;
+            }
+            else {
+                latencyMillis = latencyMillis * weight + latency * (1 - weight);
+            }
+            errorRate = errorRate * weight + (error ? 1 - weight : 0);
+            sampled = true;
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public double getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public boolean isSampled() {
+            return sampled;
+        }
+    }
+}
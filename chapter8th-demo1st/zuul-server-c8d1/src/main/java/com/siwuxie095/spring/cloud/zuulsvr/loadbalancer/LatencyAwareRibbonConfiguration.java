@@ -0,0 +1,22 @@
+package com.siwuxie095.spring.cloud.zuulsvr.loadbalancer;
+
+import com.netflix.loadbalancer.IRule;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Default configuration of every Ribbon client, see the @RibbonClients on
+ * the application class. It is deliberately not a @Configuration: it must
+ * not be picked up by component scanning, each Ribbon client context
+ * registers it and gets its own rule instance.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:26:02
+ */
+@SuppressWarnings("all")
+public class LatencyAwareRibbonConfiguration {
+
+    @Bean
+    public IRule ribbonRule(InstanceLoadStats instanceLoadStats, OutlierDetector outlierDetector) {
+        return new LatencyAwareRule(instanceLoadStats, outlierDetector);
+    }
+}
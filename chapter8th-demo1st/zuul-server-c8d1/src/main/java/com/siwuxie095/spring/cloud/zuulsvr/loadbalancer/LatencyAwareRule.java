@@ -0,0 +1,127 @@
+package com.siwuxie095.spring.cloud.zuulsvr.loadbalancer;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractLoadBalancer;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.BaseLoadBalancer;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+import com.netflix.zuul.context.RequestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ribbon rule that picks two random reachable instances and keeps the one
+ * with the lower expected cost (power of two choices). The cost is the
+ * latency EWMA times the requests in flight, inflated as the error rate of
+ * the instance rises.
+ *
+ * Instances this service has not called yet are scored from Ribbon's own
+ * server stats, which also cover the calls made through Zuul routes.
+ *
+ * Instances ejected by the {@link OutlierDetector} are left out. When the
+ * rule runs on a Zuul request thread (the default semaphore isolation of
+ * Ribbon routes) the chosen instance is recorded in the RequestContext,
+ * so the outcome of the request can be reported back to the detector.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:21:40
+ */
+@SuppressWarnings("all")
+public class LatencyAwareRule extends AbstractLoadBalancerRule {
+    private final InstanceLoadStats instanceLoadStats;
+    private final OutlierDetector outlierDetector;
+
+    public LatencyAwareRule(InstanceLoadStats instanceLoadStats, OutlierDetector outlierDetector) {
+        this.instanceLoadStats = instanceLoadStats;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+    }
+
+    @Override
+    public Server choose(Object key) {
+        ILoadBalancer loadBalancer = getLoadBalancer();
+        if (loadBalancer == null) {
+            return null;
+        }
+
+        String serviceId = loadBalancer instanceof BaseLoadBalancer ? ((BaseLoadBalancer) loadBalancer).getName() : null;
+        List<Server> servers = withoutEjected(serviceId, loadBalancer.getReachableServers());
+        int size = servers.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return routed(servers.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Server a = servers.get(first);
+        Server b = servers.get(second);
+        return routed(cost(loadBalancer, a) <= cost(loadBalancer, b) ? a : b);
+    }
+
+    private List<Server> withoutEjected(String serviceId, List<Server> servers) {
+        if (serviceId == null) {
+            return servers;
+        }
+        outlierDetector.updateInstanceCount(serviceId, servers.size());
+
+        List<Server> healthy = null;
+        for (int i = 0; i < servers.size(); i++) {
+            Server server = servers.get(i);
+            if (outlierDetector.isEjected(serviceId, OutlierDetector.instanceKey(server.getHost(), server.getPort()))) {
+                if (healthy == null) {
+                    healthy = new ArrayList<>(servers.subList(0, i));
+                }
+            }
+            else if (healthy != null) {
+                healthy.add(server);
+            }
+        }
+        // The detector caps ejections, but never leave a service without instances.
+        return healthy == null || healthy.isEmpty() ? servers : healthy;
+    }
+
+    private Server routed(Server server) {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        if (ctx.getRequest() != null) {
+            ctx.set(OutlierDetector.ROUTED_INSTANCE, OutlierDetector.instanceKey(server.getHost(), server.getPort()));
+        }
+        return server;
+    }
+
+    private double cost(ILoadBalancer loadBalancer, Server server) {
+        InstanceLoadStats.Instance stats = instanceLoadStats.find(server.getHost(), server.getPort());
+
+        int inFlight = stats == null ? 0 : stats.getInFlight();
+        double latency = stats != null && stats.isSampled() ? stats.getLatencyMillis() : 0;
+        double errorRate = stats == null ? 0 : stats.getErrorRate();
+
+        if (loadBalancer instanceof AbstractLoadBalancer) {
+            ServerStats serverStats = ((AbstractLoadBalancer) loadBalancer).getLoadBalancerStats().getSingleServerStat(server);
+            if (serverStats != null) {
+                inFlight = Math.max(inFlight, serverStats.getActiveRequestsCount());
+                if (stats == null || !stats.isSampled()) {
+                    latency = serverStats.getResponseTimeAvg();
+                }
+            }
+        }
+
+        // Squaring the success rate backs off an instance quickly once its errors start rising.
+        double success = Math.max(0.01, 1 - errorRate);
+        return (latency + 1) * (inFlight + 1) / (success * success);
+    }
+}
@@ -0,0 +1,157 @@
+package com.siwuxie095.spring.cloud.zuulsvr.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Passive health checking of backend instances from what the gateway sees.
+ *
+ * An instance that fails gateway.outlier.consecutive-failures times in a
+ * row (5xx or no response) is ejected for base-ejection-time, doubled for
+ * every further ejection up to max-ejection-time. At most
+ * max-ejected-percent of the instances of a service are ejected at once,
+ * so a service-wide problem cannot eject every instance.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:48:15
+ */
+@SuppressWarnings("all")
+@Component
+public class OutlierDetector {
+    public static final String ROUTED_INSTANCE = "routedInstance";
+    private static final Logger logger = LoggerFactory.getLogger(OutlierDetector.class);
+
+    @Value("${gateway.outlier.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.outlier.consecutive-failures:5}")
+    private int consecutiveFailures;
+
+    @Value("${gateway.outlier.base-ejection-time:30000}")
+    private long baseEjectionTime;
+
+    @Value("${gateway.outlier.max-ejection-time:300000}")
+    private long maxEjectionTime;
+
+    @Value("${gateway.outlier.max-ejected-percent:50}")
+    private int maxEjectedPercent;
+
+    private final ConcurrentMap<String, ServiceState> services = new ConcurrentHashMap<>();
+
+    public static String instanceKey(String host, int port) {
+        return host + ":" + port;
+    }
+
+    public void record(String serviceId, String instance, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+
+        ServiceState service = service(serviceId);
+        InstanceState state = service.instances.computeIfAbsent(instance, key -> new InstanceState());
+        long now = System.currentTimeMillis();
+
+        synchronized (state) {
+            if (!failed) {
+                state.consecutiveFailures = 0;
+                // Healthy for a full max window since the last ejection, start the backoff over.
+                if (state.ejections > 0 && now - state.ejectedUntil > maxEjectionTime) {
+                    state.ejections = 0;
+                }
+                return;
+            }
+
+            if (++state.consecutiveFailures < consecutiveFailures || state.ejectedUntil > now) {
+                return;
+            }
+            if (!service.canEject(now, maxEjectedPercent)) {
+                logger.debug("Not ejecting {} of {}, already at {}% ejected.", instance, serviceId, maxEjectedPercent);
+                return;
+            }
+
+            long window = Math.min(maxEjectionTime, baseEjectionTime << Math.min(state.ejections, 20));
+            state.ejections++;
+            state.consecutiveFailures = 0;
+            state.ejectedUntil = now + window;
+            logger.warn("Ejecting {} of {} for {} ms after consecutive failures.", instance, serviceId, window);
+        }
+    }
+
+    public boolean isEjected(String serviceId, String instance) {
+        ServiceState service = services.get(serviceId);
+        if (service == null) {
+            return false;
+        }
+        InstanceState state = service.instances.get(instance);
+        return state != null && state.ejectedUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Called by the load balancer with the current number of instances of a
+     * service, the base of the ejection cap.
+     */
+    public void updateInstanceCount(String serviceId, int count) {
+        if (enabled) {
+            service(serviceId).instanceCount = count;
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> result = new TreeMap<>();
+        for (Map.Entry<String, ServiceState> service : services.entrySet()) {
+            Map<String, Object> instances = new TreeMap<>();
+            for (Map.Entry<String, InstanceState> instance : service.getValue().instances.entrySet()) {
+                InstanceState state = instance.getValue();
+                Map<String, Object> details = new LinkedHashMap<>();
+                synchronized (state) {
+                    details.put("ejected", state.ejectedUntil > now);
+                    details.put("ejectedForMillis", Math.max(0, state.ejectedUntil - now));
+                    details.put("ejections", state.ejections);
+                    details.put("consecutiveFailures", state.consecutiveFailures);
+                }
+                instances.put(instance.getKey(), details);
+            }
+            result.put(service.getKey(), instances);
+        }
+        return result;
+    }
+
+    private ServiceState service(String serviceId) {
+        ServiceState service = services.get(serviceId);
+        if (service == null) {
+            service = services.computeIfAbsent(serviceId, key -> new ServiceState());
+        }
+        return service;
+    }
+
+    private static class ServiceState {
+        final ConcurrentMap<String, InstanceState> instances = new ConcurrentHashMap<>();
+        volatile int instanceCount;
+
+        boolean canEject(long now, int maxEjectedPercent) {
+            int ejected = 0;
+            for (InstanceState state : instances.values()) {
+                if (state.ejectedUntil > now) {
+                    ejected++;
+                }
+            }
+            int total = Math.max(instanceCount, instances.size());
+            return (ejected + 1) * 100 <= total * maxEjectedPercent;
+        }
+    }
+
+    private static class InstanceState {
+        int consecutiveFailures;
+        int ejections;
+        volatile long ejectedUntil;
+    }
+}
@@ -0,0 +1,57 @@
+package com.siwuxie095.spring.cloud.zuulsvr.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Load balancer client of the @LoadBalanced RestTemplate that records the
+ * in-flight count, latency and outcome of every call into
+ * {@link InstanceLoadStats}, for {@link LatencyAwareRule} to choose from.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:30:48
+ */
+@SuppressWarnings("all")
+public class StatsRecordingLoadBalancerClient implements LoadBalancerClient {
+    private final LoadBalancerClient delegate;
+    private final InstanceLoadStats instanceLoadStats;
+
+    public StatsRecordingLoadBalancerClient(LoadBalancerClient delegate, InstanceLoadStats instanceLoadStats) {
+        this.delegate = delegate;
+        this.instanceLoadStats = instanceLoadStats;
+    }
+
+    @Override
+    public ServiceInstance choose(String serviceId) {
+        return delegate.choose(serviceId);
+    }
+
+    @Override
+    public <T> T execute(String serviceId, LoadBalancerRequest<T> request) throws IOException {
+        return delegate.execute(serviceId, instance -> {
+            InstanceLoadStats.Instance stats = instanceLoadStats.instance(instance.getHost(), instance.getPort());
+            stats.start();
+            long start = System.nanoTime();
+            boolean error = true;
+            try {
+                T result = request.apply(instance);
+                error = result instanceof ClientHttpResponse
+                        && ((ClientHttpResponse) result).getRawStatusCode() >= 500;
+                return result;
+            }
+            finally {
+                stats.complete(System.nanoTime() - start, error);
+            }
+        });
+    }
+
+    @Override
+    public URI reconstructURI(ServiceInstance instance, URI original) {
+        return delegate.reconstructURI(instance, original);
+    }
+}
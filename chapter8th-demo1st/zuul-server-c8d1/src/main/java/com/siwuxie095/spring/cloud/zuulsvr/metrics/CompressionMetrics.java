@@ -0,0 +1,77 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response compression counters, published on /metrics to tune
+ * gateway.compression.min-size and mime-types: how much was saved and how
+ * much CPU the deflating cost for it.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 20:18:44
+ */
+@SuppressWarnings("all")
+@Component
+public class CompressionMetrics implements PublicMetrics {
+    private static final String PREFIX = "gateway.compression.";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder skippedSize = new LongAdder();
+    private final LongAdder skippedType = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    /**
+     * CPU time of the current thread, falling back to wall time where the JVM
+     * cannot measure it.
+     */
+    public static long cpuTime() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    public void recordCompressed(long in, long out, long nanos) {
+        compressed.increment();
+        bytesIn.add(in);
+        bytesOut.add(out);
+        cpuNanos.add(nanos);
+    }
+
+    public void recordSkippedSize() {
+        skippedSize.increment();
+    }
+
+    public void recordSkippedType() {
+        skippedType.increment();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        long nanos = cpuNanos.sum();
+
+        metrics.add(new Metric<Long>(PREFIX + "responses", compressed.sum()));
+        metrics.add(new Metric<Long>(PREFIX + "skipped.size", skippedSize.sum()));
+        metrics.add(new Metric<Long>(PREFIX + "skipped.type", skippedType.sum()));
+        metrics.add(new Metric<Long>(PREFIX + "bytes.in", in));
+        metrics.add(new Metric<Long>(PREFIX + "bytes.out", out));
+        metrics.add(new Metric<Double>(PREFIX + "ratio", in == 0 ? 0.0 : out / (double) in));
+        metrics.add(new Metric<Long>(PREFIX + "cpu.millis", TimeUnit.NANOSECONDS.toMillis(nanos)));
+        metrics.add(new Metric<Double>(PREFIX + "cpu.micros-per-kb", in == 0 ? 0.0 : nanos / 1000.0 / (in / 1024.0)));
+        return metrics;
+    }
+}
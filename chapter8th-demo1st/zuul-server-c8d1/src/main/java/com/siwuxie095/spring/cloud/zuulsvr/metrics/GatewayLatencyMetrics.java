@@ -0,0 +1,105 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import com.netflix.zuul.FilterProcessor;
+import com.netflix.zuul.ZuulFilter;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms of the gateway: per filter, per route for the route
+ * phase (the upstream call) and per route and status class for the whole
+ * request. Fed by {@link TimedFilterProcessor}, read by {@link LatencyEndpoint}.
+ *
+ * The histograms are looked up without building keys, so recording does
+ * not allocate once a filter or route has been seen.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:10:44
+ */
+@SuppressWarnings("all")
+@Component
+public class GatewayLatencyMetrics {
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final ConcurrentMap<ZuulFilter, LatencyHistogram> filters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RouteHistograms> routes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        FilterProcessor.setProcessor(new TimedFilterProcessor(this));
+    }
+
+    public void recordFilter(ZuulFilter filter, long nanos) {
+        LatencyHistogram histogram = filters.get(filter);
+        if (histogram == null) {
+            histogram = filters.computeIfAbsent(filter, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public void recordUpstream(String serviceId, long nanos) {
+        route(serviceId).upstream.record(nanos);
+    }
+
+    public void recordRequest(String serviceId, int status, long nanos) {
+        int statusClass = status >= 100 && status < 600 ? status / 100 : 0;
+        route(serviceId).byStatusClass[statusClass].record(nanos);
+    }
+
+    /**
+     * The route phase histogram of a service, null until it was routed to.
+     */
+    public LatencyHistogram getUpstream(String serviceId) {
+        RouteHistograms histograms = routes.get(serviceId);
+        return histograms == null ? null : histograms.upstream;
+    }
+
+    private RouteHistograms route(String serviceId) {
+        RouteHistograms histograms = routes.get(serviceId);
+        if (histograms == null) {
+            histograms = routes.computeIfAbsent(serviceId, key -> new RouteHistograms());
+        }
+        return histograms;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> filterSnapshots = new TreeMap<>();
+        for (Map.Entry<ZuulFilter, LatencyHistogram> entry : filters.entrySet()) {
+            ZuulFilter filter = entry.getKey();
+            filterSnapshots.put(filter.filterType() + "." + filter.getClass().getSimpleName(), entry.getValue().snapshot());
+        }
+
+        Map<String, Object> routeSnapshots = new TreeMap<>();
+        for (Map.Entry<String, RouteHistograms> entry : routes.entrySet()) {
+            RouteHistograms histograms = entry.getValue();
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("upstream", histograms.upstream.snapshot());
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                route.put(STATUS_CLASSES[i], histograms.byStatusClass[i].snapshot());
+            }
+            routeSnapshots.put(entry.getKey(), route);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("filters", filterSnapshots);
+        result.put("routes", routeSnapshots);
+        return result;
+    }
+
+    private static class RouteHistograms {
+        final LatencyHistogram upstream = new LatencyHistogram();
+        final LatencyHistogram[] byStatusClass = new LatencyHistogram[STATUS_CLASSES.length];
+
+        RouteHistograms() {
+            for (int i = 0; i < byStatusClass.length; i++) {
+                byStatusClass[i] = new LatencyHistogram();
+            }
+        }
+    }
+}
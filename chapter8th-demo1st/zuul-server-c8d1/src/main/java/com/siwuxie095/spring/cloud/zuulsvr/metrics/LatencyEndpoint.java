@@ -0,0 +1,31 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the gateway latency histograms on /latency, with count, mean,
+ * p50, p99, p999 and max in milliseconds per filter and per route.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:25:07
+ */
+@SuppressWarnings("all")
+@Component
+public class LatencyEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    GatewayLatencyMetrics gatewayLatencyMetrics;
+
+    public LatencyEndpoint() {
+        super("latency", false);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return gatewayLatencyMetrics.snapshot();
+    }
+}
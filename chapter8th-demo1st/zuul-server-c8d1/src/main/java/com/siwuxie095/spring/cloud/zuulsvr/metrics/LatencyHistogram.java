@@ -0,0 +1,122 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in microseconds, in the style of
+ * HdrHistogram: every power of two is split into 32 linear buckets, which
+ * keeps values within about 3% over the whole range.
+ *
+ * All buckets are allocated up front, so {@link #record} never allocates.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:02:27
+ */
+@SuppressWarnings("all")
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values are capped at 2^40 microseconds, about 12 days.
+    private static final int MAX_BIT = 40;
+    private static final int BUCKETS = (MAX_BIT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(indexOf(micros));
+        totalMicros.add(micros);
+
+        long currentMax;
+        while (micros > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, micros)) {
+                break;
+            }
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * The latency in microseconds below which the given fraction of the
+     * recorded values fall, 0 when nothing was recorded.
+     */
+    public long percentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        return percentile(snapshot, count, percentile);
+    }
+
+    /**
+     * Count, mean, max and the p50/p99/p999 percentiles, all in milliseconds.
+     */
+    public Map<String, Object> snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        result.put("mean", count == 0 ? 0.0 : totalMicros.sum() / (double) count / 1000);
+        result.put("p50", percentile(snapshot, count, 0.50) / 1000.0);
+        result.put("p99", percentile(snapshot, count, 0.99) / 1000.0);
+        result.put("p999", percentile(snapshot, count, 0.999) / 1000.0);
+        result.put("max", max.get() / 1000.0);
+        return result;
+    }
+
+    private long percentile(long[] snapshot, long count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int highestBit = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_BIT);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = highestBit == MAX_BIT && micros >= (1L << (MAX_BIT + 1))
+                ? SUB_BUCKETS - 1
+                : (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
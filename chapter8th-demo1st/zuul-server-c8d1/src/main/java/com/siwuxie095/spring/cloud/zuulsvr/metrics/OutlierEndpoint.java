@@ -0,0 +1,31 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import com.siwuxie095.spring.cloud.zuulsvr.loadbalancer.OutlierDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the outlier ejection state of the backend instances on /outliers.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 19:55:37
+ */
+@SuppressWarnings("all")
+@Component
+public class OutlierEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    OutlierDetector outlierDetector;
+
+    public OutlierEndpoint() {
+        super("outliers", false);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        return outlierDetector.snapshot();
+    }
+}
@@ -0,0 +1,109 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import com.netflix.zuul.ExecutionStatus;
+import com.netflix.zuul.FilterProcessor;
+import com.netflix.zuul.FilterUsageNotifier;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.netflix.zuul.exception.ZuulException;
+import com.siwuxie095.spring.cloud.zuulsvr.http.AsyncRouteForwarder;
+
+/**
+ * Filter processor that times every filter run, the route phase and the
+ * whole request into {@link GatewayLatencyMetrics}.
+ *
+ * Filters whose shouldFilter() is false are not recorded. The processor
+ * learns that from the usage notification Zuul sends right after a filter
+ * has been skipped, through a reusable per-thread flag.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 18:19:52
+ */
+@SuppressWarnings("all")
+public class TimedFilterProcessor extends FilterProcessor {
+    private static final String REQUEST_START = "gatewayRequestStart";
+    private static final String UNROUTED = "unrouted";
+
+    private static final ThreadLocal<boolean[]> SKIPPED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    private final GatewayLatencyMetrics metrics;
+
+    public TimedFilterProcessor(GatewayLatencyMetrics metrics) {
+        this.metrics = metrics;
+        setFilterUsageNotifier(new SkipAwareNotifier(new BasicFilterUsageNotifier()));
+    }
+
+    @Override
+    public void preRoute() throws ZuulException {
+        RequestContext.getCurrentContext().set(REQUEST_START, System.nanoTime());
+        super.preRoute();
+    }
+
+    @Override
+    public void route() throws ZuulException {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        // Requests answered by a pre filter (cache hit, coalesced waiter, 429, 503) never reach an upstream.
+        boolean routed = ctx.sendZuulResponse();
+        long start = System.nanoTime();
+        try {
+            super.route();
+        }
+        finally {
+            // An async forward only hands the request off here, its upstream time is not known yet.
+            if (routed && !ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED)) {
+                metrics.recordUpstream(serviceId(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void postRoute() throws ZuulException {
+        try {
+            super.postRoute();
+        }
+        finally {
+            RequestContext ctx = RequestContext.getCurrentContext();
+            Long start = (Long) ctx.get(REQUEST_START);
+            // An async forward records once its post filters have run on the completing thread.
+            if (start != null && !ctx.getBoolean(AsyncRouteForwarder.ASYNC_FORWARDED)) {
+                metrics.recordRequest(serviceId(), ctx.getResponseStatusCode(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public Object processZuulFilter(ZuulFilter filter) throws ZuulException {
+        boolean[] skipped = SKIPPED.get();
+        skipped[0] = false;
+        long start = System.nanoTime();
+        try {
+            return super.processZuulFilter(filter);
+        }
+        finally {
+            if (!skipped[0]) {
+                metrics.recordFilter(filter, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private String serviceId() {
+        Object serviceId = RequestContext.getCurrentContext().get("serviceId");
+        return serviceId == null ? UNROUTED : serviceId.toString();
+    }
+
+    private static class SkipAwareNotifier implements FilterUsageNotifier {
+        private final FilterUsageNotifier delegate;
+
+        SkipAwareNotifier(FilterUsageNotifier delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void notify(ZuulFilter filter, ExecutionStatus status) {
+            if (status == ExecutionStatus.SKIPPED) {
+                SKIPPED.get()[0] = true;
+            }
+            delegate.notify(filter, status);
+        }
+    }
+}
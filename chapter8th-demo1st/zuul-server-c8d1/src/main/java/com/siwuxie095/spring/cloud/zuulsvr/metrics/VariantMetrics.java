@@ -0,0 +1,79 @@
+package com.siwuxie095.spring.cloud.zuulsvr.metrics;
+
+import com.netflix.zuul.context.RequestContext;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per A/B variant request, error and latency counters, published on /metrics
+ * so the variants of a service can be compared.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 14:31:50
+ */
+@SuppressWarnings("all")
+@Component
+public class VariantMetrics implements PublicMetrics {
+    private static final String VARIANT = "abVariant";
+    private static final String VARIANT_START = "abVariantStart";
+    private static final String PREFIX = "gateway.abrouting.variant.";
+
+    private final ConcurrentMap<String, VariantStats> stats = new ConcurrentHashMap<>();
+
+    public void start(RequestContext ctx, String variantName) {
+        ctx.set(VARIANT, variantName);
+        ctx.set(VARIANT_START, System.nanoTime());
+    }
+
+    public void complete(RequestContext ctx) {
+        String variantName = (String) ctx.get(VARIANT);
+        if (variantName == null) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - (Long) ctx.get(VARIANT_START);
+        stats.computeIfAbsent(variantName, name -> new VariantStats())
+                .record(elapsed, ctx.getResponseStatusCode() >= 500);
+        ctx.remove(VARIANT);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        for (Map.Entry<String, VariantStats> entry : stats.entrySet()) {
+            String prefix = PREFIX + entry.getKey() + ".";
+            VariantStats variant = entry.getValue();
+            long requests = variant.requests.sum();
+
+            metrics.add(new Metric<Long>(prefix + "requests", requests));
+            metrics.add(new Metric<Long>(prefix + "errors", variant.errors.sum()));
+            metrics.add(new Metric<Double>(prefix + "latency.mean",
+                    requests == 0 ? 0.0 : variant.totalNanos.sum() / (double) requests / TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+        return metrics;
+    }
+
+    private static class VariantStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+
+        void record(long elapsed, boolean error) {
+            requests.increment();
+            totalNanos.add(elapsed);
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.siwuxie095.spring.cloud.zuulsvr.model;
+
+/**
+ * @author Jiajing Li
+ * @date 2026-10-18 14:02:37
+ */
+@SuppressWarnings("all")
+public class AbTestingEndpoint {
+    String endpoint;
+    Integer weightBasisPoints;
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public Integer getWeightBasisPoints() {
+        return weightBasisPoints;
+    }
+
+    public void setWeightBasisPoints(Integer weightBasisPoints) {
+        this.weightBasisPoints = weightBasisPoints;
+    }
+}
@@ -1,5 +1,7 @@
 package com.siwuxie095.spring.cloud.zuulsvr.model;
 
+import java.util.List;
+
 /**
  * @author Jiajing Li
  * @date 2021-06-21 08:31:19
@@ -10,6 +12,9 @@ public class AbTestingRoute {
     String active;
     String endpoint;
     Integer weight;
+    Integer weightBasisPoints;
+    Boolean sticky;
+    List<AbTestingEndpoint> endpoints;
 
     public String getActive() {
         return active;
@@ -43,5 +48,29 @@ public class AbTestingRoute {
         this.weight = weight;
     }
 
+    public Integer getWeightBasisPoints() {
+        return weightBasisPoints;
+    }
+
+    public void setWeightBasisPoints(Integer weightBasisPoints) {
+        this.weightBasisPoints = weightBasisPoints;
+    }
+
+    public Boolean getSticky() {
+        return sticky;
+    }
+
+    public void setSticky(Boolean sticky) {
+        this.sticky = sticky;
+    }
+
+    public List<AbTestingEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<AbTestingEndpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
 
 }
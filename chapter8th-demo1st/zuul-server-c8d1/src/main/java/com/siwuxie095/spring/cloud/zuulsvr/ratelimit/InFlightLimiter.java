@@ -0,0 +1,71 @@
+package com.siwuxie095.spring.cloud.zuulsvr.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Counts the requests in flight per key and caps them. A count is dropped
+ * once it is back at zero, so keys taken from request headers cannot grow
+ * the map without bound. Counts only change inside compute, so a slot can
+ * never be taken on a count that is being dropped.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:20:41
+ */
+@SuppressWarnings("all")
+@Component
+public class InFlightLimiter {
+    private final ConcurrentMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Takes a slot for the key, unless maxInFlight requests are already in
+     * flight. A maxInFlight of 0 or less is unlimited and takes no slot.
+     */
+    public boolean tryAcquire(Permit permit, String key, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            return true;
+        }
+
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(key, (k, current) -> {
+            int count = current == null ? 0 : current;
+            if (count >= maxInFlight) {
+                return current;
+            }
+            acquired[0] = true;
+            return count + 1;
+        });
+        if (acquired[0]) {
+            permit.keys.add(key);
+        }
+        return acquired[0];
+    }
+
+    public int getInFlight(String key) {
+        Integer count = inFlight.get(key);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * The slots one request holds. Releasing is idempotent, so every path
+     * that ends a request may release.
+     */
+    public class Permit {
+        private final List<String> keys = new ArrayList<>(2);
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            for (String key : keys) {
+                inFlight.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+            }
+        }
+    }
+}
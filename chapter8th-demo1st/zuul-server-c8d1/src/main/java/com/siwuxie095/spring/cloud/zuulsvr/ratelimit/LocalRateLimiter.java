@@ -0,0 +1,75 @@
+package com.siwuxie095.spring.cloud.zuulsvr.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limiter of a single gateway instance, one {@link TokenBucket} per key.
+ *
+ * Keys come from client supplied values, so at most max-keys buckets are
+ * kept. Once that many exist, idle buckets are purged at most once per
+ * second, and new keys that still find no room share one overflow bucket
+ * until a purge makes room for them.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:11:58
+ */
+@SuppressWarnings("all")
+@Component
+@ConditionalOnProperty(name = "gateway.ratelimit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    @Value("${gateway.ratelimit.max-keys:10000}")
+    private int maxKeys;
+
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicReference<TokenBucket> overflow = new AtomicReference<>();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private volatile long lastPurge = System.nanoTime() - PURGE_INTERVAL_NANOS;
+
+    @Override
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null || !bucket.hasLimit(permitsPerSecond, burst)) {
+            if (bucket == null && buckets.size() >= maxKeys) {
+                purgeIdle(now);
+            }
+            bucket = bucket == null && buckets.size() >= maxKeys
+                    ? overflowBucket(permitsPerSecond, burst)
+                    // New key, or the limit was changed by a refresh. Only one thread gets to put the new bucket.
+                    : buckets.compute(key, (k, existing) -> existing != null && existing.hasLimit(permitsPerSecond, burst)
+                            ? existing : new TokenBucket(permitsPerSecond, burst));
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    private TokenBucket overflowBucket(double permitsPerSecond, int burst) {
+        return overflow.updateAndGet(existing -> existing != null && existing.hasLimit(permitsPerSecond, burst)
+                ? existing : new TokenBucket(permitsPerSecond, burst));
+    }
+
+    private void purgeIdle(long now) {
+        if (now - lastPurge < PURGE_INTERVAL_NANOS || !purging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            lastPurge = now;
+        }
+        finally {
+            purging.set(false);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.siwuxie095.spring.cloud.zuulsvr.ratelimit;
+
+/**
+ * Request rate limiting per key.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:06:10
+ */
+@SuppressWarnings("all")
+public interface RateLimiter {
+
+    /**
+     * Takes one permit for the key. Returns 0 when the request is admitted,
+     * otherwise the milliseconds until a permit is available again.
+     */
+    long tryAcquire(String key, double permitsPerSecond, int burst);
+}
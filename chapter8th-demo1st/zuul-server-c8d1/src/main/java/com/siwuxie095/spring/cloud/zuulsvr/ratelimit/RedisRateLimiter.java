@@ -0,0 +1,65 @@
+package com.siwuxie095.spring.cloud.zuulsvr.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Rate limiter shared by all gateway instances. Runs the same algorithm as
+ * {@link TokenBucket} in a Redis script, so one round trip both checks and
+ * takes the permit. When Redis cannot be reached requests are admitted.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:16:25
+ */
+@SuppressWarnings("all")
+@Component
+@ConditionalOnProperty(name = "gateway.ratelimit.mode", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    // KEYS[1] = bucket, ARGV = now, interval and capacity in microseconds.
+    // The arrival time is written with %d, plain number formatting would round it.
+    private static final RedisScript<Long> SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local arrival = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "if arrival < now then arrival = now end " +
+            "local nextArrival = arrival + tonumber(ARGV[2]) " +
+            "local excess = nextArrival - now - tonumber(ARGV[3]) " +
+            "if excess > 0 then return excess end " +
+            "redis.call('SET', KEYS[1], string.format('%d', nextArrival), 'PX', math.ceil((nextArrival - now) / 1000) + 1) " +
+            "return 0",
+            Long.class);
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    CounterService counterService;
+
+    @Override
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        long interval = (long) (1_000_000L / permitsPerSecond);
+        try {
+            // The braces keep all of a bucket on one slot of a Redis cluster.
+            Long waitMicros = redisTemplate.execute(SCRIPT, Collections.singletonList("ratelimit:{" + key + "}"),
+                    String.valueOf(System.currentTimeMillis() * 1000),
+                    String.valueOf(interval),
+                    String.valueOf(interval * burst));
+            return waitMicros == null || waitMicros == 0 ? 0 : Math.max(1, waitMicros / 1000);
+        }
+        catch (RuntimeException ex) {
+            logger.debug("Redis rate limit check for {} failed, admitting the request. Exception {}", key, ex.getMessage());
+            counterService.increment("gateway.ratelimit.redis.failure");
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.siwuxie095.spring.cloud.zuulsvr.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm: the
+ * whole state is the theoretical arrival time of the next request, which is
+ * advanced with a single compare-and-set per admitted request.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:07:33
+ */
+@SuppressWarnings("all")
+public class TokenBucket {
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.capacityNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Returns 0 when a permit was taken, otherwise the nanoseconds until one
+     * is available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long base = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long next = base + intervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has been refilled completely, so dropping it
+     * loses no state.
+     */
+    public boolean isIdle(long nowNanos) {
+        long current = arrival.get();
+        return current == Long.MIN_VALUE || current - nowNanos <= 0;
+    }
+
+    public boolean hasLimit(double permitsPerSecond, int burst) {
+        return this.permitsPerSecond == permitsPerSecond && this.burst == burst;
+    }
+}
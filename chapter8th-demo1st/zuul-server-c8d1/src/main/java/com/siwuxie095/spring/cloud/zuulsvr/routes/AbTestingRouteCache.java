@@ -0,0 +1,143 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import com.siwuxie095.spring.cloud.zuulsvr.model.AbTestingRoute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-gateway copy of the A/B routing table, keyed by service id and kept
+ * as precompiled traffic splits.
+ *
+ * The filters only read from the map; routes are loaded and refreshed from
+ * the special routes service in the background. A 404 is kept as a negative
+ * entry, and an entry that could not be refreshed for longer than the max
+ * staleness is ignored until the next successful refresh.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 10:02:11
+ */
+@SuppressWarnings("all")
+@Component
+public class AbTestingRouteCache {
+    private static final Logger logger = LoggerFactory.getLogger(AbTestingRouteCache.class);
+
+    @Autowired
+    RestTemplate restTemplate;
+
+    @Autowired
+    CounterService counterService;
+
+    @Value("${specialroutes.cache.refresh-interval:5000}")
+    private long refreshInterval;
+
+    @Value("${specialroutes.cache.max-stale:60000}")
+    private long maxStale;
+
+    private final Map<String, CachedRoute> routes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ab-routes-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshAll, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    public TrafficSplit getSplit(String serviceName) {
+        if (serviceName == null || serviceName.isEmpty()) {
+            return null;
+        }
+
+        CachedRoute cached = routes.get(serviceName);
+
+        if (cached == null) {
+            counterService.increment("gateway.abrouting.miss");
+            if (routes.putIfAbsent(serviceName, CachedRoute.PENDING) == null) {
+                refresher.execute(() -> refresh(serviceName));
+            }
+            return null;
+        }
+
+        counterService.increment("gateway.abrouting.hit");
+        if (System.currentTimeMillis() - cached.loadedAt > maxStale) {
+            return null;
+        }
+        return cached.split;
+    }
+
+    public void evict(String serviceName) {
+        routes.remove(serviceName);
+    }
+
+    private void refreshAll() {
+        for (String serviceName : routes.keySet()) {
+            refresh(serviceName);
+        }
+    }
+
+    private void refresh(String serviceName) {
+        try {
+            TrafficSplit split = TrafficSplit.compile(serviceName, loadRoute(serviceName));
+            routes.put(serviceName, new CachedRoute(split, System.currentTimeMillis()));
+            counterService.increment("gateway.abrouting.refresh");
+        } catch (Exception ex) {
+            counterService.increment("gateway.abrouting.refresh.failure");
+            logger.warn("Unable to refresh the A/B route for {}, keeping the cached entry. Exception {}", serviceName, ex.getMessage());
+        }
+    }
+
+    private AbTestingRoute loadRoute(String serviceName) {
+        ResponseEntity<AbTestingRoute> restExchange = null;
+        try {
+            restExchange = restTemplate.exchange(
+                    "http://specialroutesservice/v1/route/abtesting/{serviceName}",
+                    HttpMethod.GET,
+                    null, AbTestingRoute.class, serviceName);
+        }
+        catch(HttpClientErrorException ex){
+            if (ex.getStatusCode()== HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw ex;
+        }
+        return restExchange.getBody();
+    }
+
+    private static class CachedRoute {
+        static final CachedRoute PENDING = new CachedRoute(null, Long.MAX_VALUE);
+
+        final TrafficSplit split;
+        final long loadedAt;
+
+        CachedRoute(TrafficSplit split, long loadedAt) {
+            this.split = split;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
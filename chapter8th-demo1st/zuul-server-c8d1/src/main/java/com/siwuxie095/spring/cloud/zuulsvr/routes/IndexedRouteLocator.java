@@ -0,0 +1,126 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties;
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties.ZuulRoute;
+import org.springframework.cloud.netflix.zuul.filters.discovery.DiscoveryClientRouteLocator;
+import org.springframework.cloud.netflix.zuul.filters.discovery.ServiceRouteMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Discovery route locator that matches requests against a {@link RouteIndex}
+ * instead of trying every route pattern in turn.
+ *
+ * Every refresh (config /refresh or /bus/refresh, Eureka changes, POST
+ * /routes) builds a new index next to the current one and swaps it in
+ * atomically, requests already routed keep the route they were given. Only
+ * when the refresh really changed routes is a {@link RouteTableChangedEvent}
+ * published, naming the services affected.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:11:47
+ */
+@SuppressWarnings("all")
+public class IndexedRouteLocator extends DiscoveryClientRouteLocator implements ApplicationEventPublisherAware {
+    private static final Logger logger = LoggerFactory.getLogger(IndexedRouteLocator.class);
+
+    private final AtomicReference<RouteIndex> index = new AtomicReference<>();
+
+    private ApplicationEventPublisher publisher;
+
+    public IndexedRouteLocator(String servletPath, DiscoveryClient discovery, ZuulProperties properties,
+                               ServiceRouteMapper serviceRouteMapper) {
+        super(servletPath, discovery, properties, serviceRouteMapper);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected void doRefresh() {
+        super.doRefresh();
+        swap(getRoutesMap());
+    }
+
+    @Override
+    protected ZuulRoute getZuulRoute(String adjustedPath) {
+        if (matchesIgnoredPatterns(adjustedPath)) {
+            return null;
+        }
+
+        Map<String, ZuulRoute> routes = getRoutesMap();
+        RouteIndex current = index.get();
+        if (current == null || current.getSource() != routes) {
+            current = swap(routes);
+        }
+        return current.match(adjustedPath);
+    }
+
+    private synchronized RouteIndex swap(Map<String, ZuulRoute> routes) {
+        RouteIndex previous = index.get();
+        if (previous != null && previous.getSource() == routes) {
+            return previous;
+        }
+
+        RouteIndex next = new RouteIndex(routes);
+        index.set(next);
+        if (previous == null) {
+            return next;
+        }
+
+        Set<String> changed = changedServices(previous.getSource(), routes);
+        if (!changed.isEmpty()) {
+            logger.info("Route table changed for {}", changed);
+            if (publisher != null) {
+                publisher.publishEvent(new RouteTableChangedEvent(this, changed));
+            }
+        }
+        return next;
+    }
+
+    private Set<String> changedServices(Map<String, ZuulRoute> before, Map<String, ZuulRoute> after) {
+        Map<String, ZuulRoute> beforeById = byId(before);
+        Map<String, ZuulRoute> afterById = byId(after);
+        Set<String> changed = new HashSet<>();
+
+        for (Map.Entry<String, ZuulRoute> entry : beforeById.entrySet()) {
+            ZuulRoute route = afterById.get(entry.getKey());
+            if (!Objects.equals(entry.getValue(), route)) {
+                changed.add(serviceOf(entry.getValue()));
+                if (route != null) {
+                    changed.add(serviceOf(route));
+                }
+            }
+        }
+        for (Map.Entry<String, ZuulRoute> entry : afterById.entrySet()) {
+            if (!beforeById.containsKey(entry.getKey())) {
+                changed.add(serviceOf(entry.getValue()));
+            }
+        }
+        return changed;
+    }
+
+    private Map<String, ZuulRoute> byId(Map<String, ZuulRoute> routes) {
+        Map<String, ZuulRoute> byId = new HashMap<>();
+        for (ZuulRoute route : routes.values()) {
+            byId.put(route.getId(), route);
+        }
+        return byId;
+    }
+
+    private String serviceOf(ZuulRoute route) {
+        return route.getServiceId() != null ? route.getServiceId() : route.getId();
+    }
+}
@@ -0,0 +1,158 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties.ZuulRoute;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup index over one snapshot of the Zuul route table.
+ *
+ * Route patterns are stored in a tree under their literal leading path
+ * segments, so a lookup walks the request path once and only checks the
+ * patterns found on that walk, instead of matching every pattern in turn.
+ * As with the plain locator, the route declared first wins when several
+ * patterns match.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:06:12
+ */
+@SuppressWarnings("all")
+public final class RouteIndex {
+    private static final String CATCH_ALL = "**";
+
+    private final Map<String, ZuulRoute> source;
+    private final Node root = new Node();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RouteIndex(Map<String, ZuulRoute> source) {
+        this.source = source;
+        int order = 0;
+        for (Map.Entry<String, ZuulRoute> entry : source.entrySet()) {
+            add(entry.getKey(), entry.getValue(), order++);
+        }
+    }
+
+    /**
+     * The route map this index was built from, to tell whether the locator
+     * has swapped in a new one since.
+     */
+    public Map<String, ZuulRoute> getSource() {
+        return source;
+    }
+
+    public ZuulRoute match(String path) {
+        Entry best = null;
+        Node node = root;
+        int position = 0;
+        int length = path.length();
+
+        while (true) {
+            while (position < length && path.charAt(position) == '/') {
+                position++;
+            }
+            boolean end = position == length;
+            best = node.match(path, end, best, pathMatcher);
+            if (end) {
+                break;
+            }
+
+            int next = path.indexOf('/', position);
+            if (next < 0) {
+                next = length;
+            }
+            node = node.children.get(path.substring(position, next));
+            if (node == null) {
+                break;
+            }
+            position = next;
+        }
+        return best == null ? null : best.route;
+    }
+
+    private void add(String pattern, ZuulRoute route, int order) {
+        String[] segments = pattern.split("/");
+        Node node = root;
+        int i = 0;
+        for (; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!isLiteral(segment)) {
+                break;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Kind kind;
+        if (i == segments.length) {
+            kind = Kind.EXACT;
+        }
+        else if (i == segments.length - 1 && CATCH_ALL.equals(segments[i])) {
+            kind = Kind.CATCH_ALL;
+        }
+        else {
+            kind = Kind.PATTERN;
+        }
+        node.entries.add(new Entry(pattern, route, order, kind));
+    }
+
+    private boolean isLiteral(String segment) {
+        return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+    }
+
+    private enum Kind {
+        // /a/b, only when the path ends at this node.
+        EXACT,
+        // /a/b/**, anything at or below this node.
+        CATCH_ALL,
+        // Any other wildcard, checked with the full matcher.
+        PATTERN
+    }
+
+    private static final class Entry {
+        final String pattern;
+        final ZuulRoute route;
+        final int order;
+        final Kind kind;
+
+        Entry(String pattern, ZuulRoute route, int order, Kind kind) {
+            this.pattern = pattern;
+            this.route = route;
+            this.order = order;
+            this.kind = kind;
+        }
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        final List<Entry> entries = new ArrayList<>(1);
+
+        Entry match(String path, boolean end, Entry best, AntPathMatcher pathMatcher) {
+            for (Entry entry : entries) {
+                if (best != null && best.order < entry.order) {
+                    continue;
+                }
+                boolean matches;
+                switch (entry.kind) {
+                    case CATCH_ALL:
+                        matches = true;
+                        break;
+                    case EXACT:
+                        matches = end && pathMatcher.match(entry.pattern, path);
+                        break;
+                    default:
+                        matches = pathMatcher.match(entry.pattern, path);
+                }
+                if (matches) {
+                    best = entry;
+                }
+            }
+            return best;
+        }
+    }
+}
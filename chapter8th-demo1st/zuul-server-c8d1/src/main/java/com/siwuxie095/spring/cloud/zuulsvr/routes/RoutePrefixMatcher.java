@@ -0,0 +1,103 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.netflix.zuul.RoutesRefreshedEvent;
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties;
+import org.springframework.cloud.netflix.zuul.filters.ZuulProperties.ZuulRoute;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled gateway path prefixes (e.g. /api/organization for
+ * organizationservice), used to rewrite a gateway URI onto another endpoint.
+ *
+ * The prefix is only stripped on a whole segment boundary at the start of
+ * the path, and the target is built in a per-thread reusable builder so the
+ * final string is the only allocation.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 13:20:44
+ */
+@SuppressWarnings("all")
+@Component
+public class RoutePrefixMatcher {
+
+    @Autowired
+    ZuulProperties zuulProperties;
+
+    private volatile Map<String, String> prefixes = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    @PostConstruct
+    public void init() {
+        compile();
+    }
+
+    @EventListener({RoutesRefreshedEvent.class, RouteTableChangedEvent.class})
+    public void compile() {
+        Map<String, String> compiled = new HashMap<>();
+        String globalPrefix = zuulProperties.isStripPrefix() ? trimSlashes(zuulProperties.getPrefix()) : "";
+
+        for (Map.Entry<String, ZuulRoute> entry : zuulProperties.getRoutes().entrySet()) {
+            ZuulRoute route = entry.getValue();
+            if (route.getPath() == null) {
+                continue;
+            }
+            String serviceId = StringUtils.hasText(route.getServiceId()) ? route.getServiceId() : entry.getKey();
+            String routePrefix = route.isStripPrefix() ? trimSlashes(route.getPath().replaceAll("/\\*+$", "")) : "";
+            compiled.put(serviceId, globalPrefix + routePrefix);
+        }
+        prefixes = new ConcurrentHashMap<>(compiled);
+    }
+
+    public String buildTarget(String requestUri, String serviceId, String endpoint) {
+        String prefix = prefixFor(serviceId);
+
+        int start = 0;
+        if (requestUri.startsWith(prefix)
+                && (requestUri.length() == prefix.length() || requestUri.charAt(prefix.length()) == '/')) {
+            start = prefix.length();
+        }
+        while (start < requestUri.length() && requestUri.charAt(start) == '/') {
+            start++;
+        }
+
+        int endpointEnd = endpoint.length();
+        while (endpointEnd > 0 && endpoint.charAt(endpointEnd - 1) == '/') {
+            endpointEnd--;
+        }
+
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        builder.append(endpoint, 0, endpointEnd)
+                .append('/')
+                .append(requestUri, start, requestUri.length());
+        return builder.toString();
+    }
+
+    private String prefixFor(String serviceId) {
+        String prefix = prefixes.get(serviceId);
+        if (prefix == null) {
+            // Services only known to Eureka get the default /{serviceId}/** route.
+            String globalPrefix = zuulProperties.isStripPrefix() ? trimSlashes(zuulProperties.getPrefix()) : "";
+            prefix = globalPrefix + "/" + serviceId;
+            prefixes.put(serviceId, prefix);
+        }
+        return prefix;
+    }
+
+    private String trimSlashes(String path) {
+        if (!StringUtils.hasText(path)) {
+            return "";
+        }
+        String trimmed = StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(path, '/'), '/');
+        return trimmed.isEmpty() ? "" : "/" + trimmed;
+    }
+}
@@ -0,0 +1,27 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * Published by {@link IndexedRouteLocator} when a refresh actually changed
+ * routes, with the services whose routes were added, removed or changed.
+ * Routes of the other services are untouched, their caches stay warm.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 21:08:35
+ */
+@SuppressWarnings("all")
+public class RouteTableChangedEvent extends ApplicationEvent {
+    private final Set<String> serviceIds;
+
+    public RouteTableChangedEvent(Object source, Set<String> serviceIds) {
+        super(source);
+        this.serviceIds = serviceIds;
+    }
+
+    public Set<String> getServiceIds() {
+        return serviceIds;
+    }
+}
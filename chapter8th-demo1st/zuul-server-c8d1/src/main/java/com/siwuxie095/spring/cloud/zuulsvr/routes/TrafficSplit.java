@@ -0,0 +1,114 @@
+package com.siwuxie095.spring.cloud.zuulsvr.routes;
+
+import com.siwuxie095.spring.cloud.zuulsvr.model.AbTestingEndpoint;
+import com.siwuxie095.spring.cloud.zuulsvr.model.AbTestingRoute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable, precompiled traffic split for one service.
+ *
+ * Weights are in basis points (1/10000 of the traffic), whatever is left
+ * over stays on the default route. With sticky assignment a user (or, when
+ * there is no user, an organization) always lands in the same bucket.
+ *
+ * The legacy 1-10 weight keeps its old meaning: the special route took
+ * the request when the weight was below a random 1-10 draw, so it gets
+ * (10 - weight) tenths of the traffic.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 14:10:19
+ */
+@SuppressWarnings("all")
+public class TrafficSplit {
+    public static final int TOTAL_BASIS_POINTS = 10000;
+    public static final int DEFAULT_ROUTE = -1;
+
+    private final String[] endpoints;
+    private final String[] variantNames;
+    private final int[] upperBounds;
+    private final String defaultVariantName;
+    private final boolean sticky;
+
+    private TrafficSplit(String serviceName, List<String> endpoints, List<Integer> weights, boolean sticky) {
+        this.endpoints = endpoints.toArray(new String[0]);
+        this.variantNames = new String[endpoints.size()];
+        this.upperBounds = new int[endpoints.size()];
+        this.defaultVariantName = serviceName + ".default";
+        this.sticky = sticky;
+
+        int bound = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            bound = Math.min(TOTAL_BASIS_POINTS, bound + Math.max(0, weights.get(i)));
+            upperBounds[i] = bound;
+            variantNames[i] = serviceName + ".variant" + i;
+        }
+    }
+
+    public static TrafficSplit compile(String serviceName, AbTestingRoute route) {
+        if (route == null || "N".equals(route.getActive())) {
+            return null;
+        }
+
+        List<String> endpoints = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        if (route.getEndpoints() != null && !route.getEndpoints().isEmpty()) {
+            for (AbTestingEndpoint endpoint : route.getEndpoints()) {
+                endpoints.add(endpoint.getEndpoint());
+                weights.add(endpoint.getWeightBasisPoints() == null ? 0 : endpoint.getWeightBasisPoints());
+            }
+        }
+        else if (route.getWeightBasisPoints() != null) {
+            endpoints.add(route.getEndpoint());
+            weights.add(route.getWeightBasisPoints());
+        }
+        else {
+            int weight = route.getWeight() == null ? 0 : route.getWeight();
+            endpoints.add(route.getEndpoint());
+            weights.add((10 - weight) * (TOTAL_BASIS_POINTS / 10));
+        }
+
+        return new TrafficSplit(serviceName, endpoints, weights, Boolean.TRUE.equals(route.getSticky()));
+    }
+
+    /**
+     * Returns the index of the chosen variant, or DEFAULT_ROUTE.
+     */
+    public int choose(String stickyKey) {
+        int bucket = sticky && stickyKey != null
+                ? stickyBucket(stickyKey)
+                : ThreadLocalRandom.current().nextInt(TOTAL_BASIS_POINTS);
+
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (bucket < upperBounds[i]) {
+                return i;
+            }
+        }
+        return DEFAULT_ROUTE;
+    }
+
+    public String getEndpoint(int variant) {
+        return endpoints[variant];
+    }
+
+    public String getVariantName(int variant) {
+        return variant == DEFAULT_ROUTE ? defaultVariantName : variantNames[variant];
+    }
+
+    public boolean isSticky() {
+        return sticky;
+    }
+
+    private static int stickyBucket(String key) {
+        // murmur3 finalizer, spreads String.hashCode over the whole int range
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % TOTAL_BASIS_POINTS;
+    }
+}
@@ -0,0 +1,61 @@
+package com.siwuxie095.spring.cloud.zuulsvr.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Generates 128 bit correlation ids as 32 hex characters:
+ *
+ * <pre>
+ * 48 bit time in milliseconds | 48 bit random node | 32 bit counter
+ * </pre>
+ *
+ * The node and counter are per thread, so generating an id touches no
+ * shared state. SecureRandom is only used once per thread to pick the node.
+ *
+ * @author Jiajing Li
+ * @date 2026-10-18 17:48:36
+ */
+@SuppressWarnings("all")
+@Component
+public class CorrelationIdGenerator {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final SecureRandom SEED = new SecureRandom();
+
+    private static final ThreadLocal<Node> NODE = ThreadLocal.withInitial(Node::new);
+
+    public String next() {
+        Node node = NODE.get();
+        long hi = (System.currentTimeMillis() << 16) | (node.id >>> 32);
+        long lo = (node.id << 32) | (node.counter++ & 0xffffffffL);
+
+        char[] chars = new char[32];
+        encode(hi, chars, 0);
+        encode(lo, chars, 16);
+        return new String(chars);
+    }
+
+    private static void encode(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0x0f)];
+            value >>>= 4;
+        }
+    }
+
+    private static class Node {
+        private final long id;
+        private int counter;
+
+        Node() {
+            byte[] bytes = new byte[6];
+            SEED.nextBytes(bytes);
+            long value = 0;
+            for (byte b : bytes) {
+                value = (value << 8) | (b & 0xff);
+            }
+            this.id = value;
+            this.counter = SEED.nextInt();
+        }
+    }
+}